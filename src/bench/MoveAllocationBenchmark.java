@@ -0,0 +1,65 @@
+package bench;
+
+import game.WordLabyrinth;
+import model.*;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+
+/**
+ * Measures heap allocation of {@link WordLabyrinth#move(Cell)}. Paths are
+ * planned up front, then replayed while the thread's allocated-bytes
+ * counter is sampled, so only the moves themselves are measured.
+ *
+ * Usage: java -cp bin bench.MoveAllocationBenchmark [size] [rounds]
+ */
+public class MoveAllocationBenchmark {
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        // Cost of sampling the counter itself
+        long overhead = threads.getThreadAllocatedBytes(threadId);
+        overhead = threads.getThreadAllocatedBytes(threadId) - overhead;
+
+        for (int round = 0; round < rounds; round++) {
+            WordLabyrinth game = new WordLabyrinth(model.Dictionary.DifficultyLevel.EASY, size, size, round);
+            Cell[] walk = planWalk(game.getGrid(), new Random(round));
+
+            long before = threads.getThreadAllocatedBytes(threadId);
+            long startNanos = System.nanoTime();
+            int accepted = 0;
+            for (Cell cell : walk) {
+                if (game.move(cell)) accepted++;
+                // Retry the last cell, which must be rejected as a revisit
+                game.move(cell);
+            }
+            long elapsed = System.nanoTime() - startNanos;
+            long allocated = threads.getThreadAllocatedBytes(threadId) - before - overhead;
+
+            System.out.printf("round %d: %d moves (%d accepted), %d bytes allocated, %.1f ns/move%n",
+                round, walk.length * 2, accepted, allocated, (double) elapsed / (walk.length * 2));
+        }
+    }
+
+    /**
+     * Returns a self-avoiding random walk over non-blocked cells.
+     */
+    private static Cell[] planWalk(Grid grid, Random random) {
+        List<Cell> walk = new ArrayList<>();
+        Set<Cell> seen = new HashSet<>();
+        Cell current = grid.getStartCell();
+        while (current != null) {
+            walk.add(current);
+            seen.add(current);
+            List<Cell> options = new ArrayList<>();
+            for (Cell next : grid.getNeighbors(current)) {
+                if (!seen.contains(next) && next != grid.getDestinationCell()) options.add(next);
+            }
+            current = options.isEmpty() ? null : options.get(random.nextInt(options.size()));
+        }
+        return walk.toArray(new Cell[0]);
+    }
+}
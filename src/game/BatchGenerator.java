@@ -0,0 +1,175 @@
+package game;
+
+import model.Dictionary.DifficultyLevel;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Generates many puzzles in parallel on a fork-join pool. Each puzzle gets
+ * its own seed derived from a base seed and its index, so a batch can be
+ * reproduced exactly regardless of how the work was split across threads.
+ */
+public class BatchGenerator {
+    // Puzzles generated per leaf task before splitting stops
+    private static final int CHUNK_SIZE = 16;
+    // Boards generated per index before giving up when verification fails
+    private static final int MAX_ATTEMPTS = 20;
+
+    private final ForkJoinPool pool;
+
+    public BatchGenerator() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public BatchGenerator(int threads) {
+        this.pool = new ForkJoinPool(threads);
+    }
+
+    /**
+     * Returns the seed of the puzzle at the given index of a batch.
+     */
+    public static long puzzleSeed(long baseSeed, int index) {
+        // SplitMix64 finalizer, so neighbouring indices give unrelated seeds
+        long z = baseSeed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public BatchResult generate(DifficultyLevel level, int rows, int cols, int count, long baseSeed) {
+        return generate(level, rows, cols, count, baseSeed, false);
+    }
+
+    /**
+     * Generates count puzzles. When verify is set, boards that cannot be won
+     * are regenerated with a derived seed, and indices that still fail after
+     * {@link #MAX_ATTEMPTS} are left out of the result.
+     */
+    public BatchResult generate(DifficultyLevel level, int rows, int cols, int count, long baseSeed,
+                                boolean verify) {
+        WordLabyrinth[] puzzles = new WordLabyrinth[count];
+        int[] rejected = new int[count];
+        long start = System.nanoTime();
+        pool.invoke(new GenerateTask(puzzles, rejected, 0, count, level, rows, cols, baseSeed, verify));
+        long elapsed = System.nanoTime() - start;
+
+        List<WordLabyrinth> accepted = new ArrayList<>(count);
+        int totalRejected = 0;
+        for (int i = 0; i < count; i++) {
+            if (puzzles[i] != null) accepted.add(puzzles[i]);
+            totalRejected += rejected[i];
+        }
+        return new BatchResult(accepted, totalRejected, elapsed);
+    }
+
+    private static WordLabyrinth generateOne(DifficultyLevel level, int rows, int cols, long seed,
+                                             boolean verify, int[] rejected, int index) {
+        long attemptSeed = seed;
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            WordLabyrinth puzzle = new WordLabyrinth(level, rows, cols, attemptSeed);
+            if (!verify || puzzle.verify().isSolvable()) {
+                return puzzle;
+            }
+            rejected[index]++;
+            attemptSeed = puzzleSeed(seed, attempt + 1);
+        }
+        return null;
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private static class GenerateTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final WordLabyrinth[] puzzles;
+        private final int[] rejected;
+        private final int from;
+        private final int to;
+        private final DifficultyLevel level;
+        private final int rows;
+        private final int cols;
+        private final long baseSeed;
+        private final boolean verify;
+
+        GenerateTask(WordLabyrinth[] puzzles, int[] rejected, int from, int to, DifficultyLevel level,
+                     int rows, int cols, long baseSeed, boolean verify) {
+            this.puzzles = puzzles;
+            this.rejected = rejected;
+            this.from = from;
+            this.to = to;
+            this.level = level;
+            this.rows = rows;
+            this.cols = cols;
+            this.baseSeed = baseSeed;
+            this.verify = verify;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= CHUNK_SIZE) {
+                for (int i = from; i < to; i++) {
+                    puzzles[i] = generateOne(level, rows, cols, puzzleSeed(baseSeed, i), verify, rejected, i);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new GenerateTask(puzzles, rejected, from, mid, level, rows, cols, baseSeed, verify),
+                      new GenerateTask(puzzles, rejected, mid, to, level, rows, cols, baseSeed, verify));
+        }
+    }
+
+    /**
+     * The accepted puzzles of one batch, in index order, and how long they took.
+     */
+    public static class BatchResult {
+        private final List<WordLabyrinth> puzzles;
+        private final int rejected;
+        private final long elapsedNanos;
+
+        BatchResult(List<WordLabyrinth> puzzles, int rejected, long elapsedNanos) {
+            this.puzzles = puzzles;
+            this.rejected = rejected;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public List<WordLabyrinth> getPuzzles() { return puzzles; }
+        public int getRejected() { return rejected; }
+        public long getElapsedNanos() { return elapsedNanos; }
+
+        public double getPuzzlesPerSecond() {
+            return elapsedNanos == 0 ? 0 : puzzles.size() * 1e9 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d puzzles in %.1f ms (%.1f puzzles/sec, %d rejected)",
+                puzzles.size(), elapsedNanos / 1e6, getPuzzlesPerSecond(), rejected);
+        }
+    }
+
+    /**
+     * Usage: BatchGenerator [easy|medium|hard] rows cols count [seed] [--verify]
+     */
+    public static void main(String[] args) {
+        if (args.length < 4) {
+            System.err.println("Usage: BatchGenerator <easy|medium|hard> <rows> <cols> <count> [seed] [--verify]");
+            System.exit(1);
+        }
+        DifficultyLevel level = DifficultyLevel.valueOf(args[0].toUpperCase());
+        int rows = Integer.parseInt(args[1]);
+        int cols = Integer.parseInt(args[2]);
+        int count = Integer.parseInt(args[3]);
+        boolean verify = args[args.length - 1].equals("--verify");
+        int positional = verify ? args.length - 1 : args.length;
+        long seed = positional > 4 ? Long.parseLong(args[4]) : System.nanoTime();
+
+        BatchGenerator generator = new BatchGenerator();
+        try {
+            System.out.println(generator.generate(level, rows, cols, count, seed, verify));
+        } finally {
+            generator.shutdown();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package game;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.concurrent.*;
+
+/**
+ * An append-only binary log of the commands applied to one game. The header
+ * records everything needed to regenerate the board (level, size and seed);
+ * each following event is a type byte plus its arguments. Events are
+ * buffered and written through a file channel, and the channel is forced to
+ * disk in batches: every {@code syncEvery} events, and by a shared
+ * background thread within {@code syncMillis} milliseconds of any event
+ * still pending, so an idle game is synced too. The log must be created
+ * before the game's first command, since replay starts from the seed.
+ */
+public class GameEventLog implements Closeable {
+    static final int MAGIC = 0x574C4731;  // "WLG1"
+
+    public static final byte MOVE = 1;
+    public static final byte SUBMIT = 2;
+    public static final byte RESET = 3;
+    public static final byte PATH = 4;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // Forces logs that have been idle with pending events
+    private static final ScheduledExecutorService SYNCER = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "event-log-sync");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final int syncEvery;
+    private int unsyncedEvents;
+    private ScheduledFuture<?> scheduledSync;
+
+    private GameEventLog(FileChannel channel, int syncEvery) {
+        this.channel = channel;
+        this.syncEvery = syncEvery;
+    }
+
+    /**
+     * Creates a log for a game that has had no commands yet, overwriting any
+     * existing file, with default batching of 64 events or 200 ms.
+     */
+    public static GameEventLog create(Path file, WordLabyrinth game) throws IOException {
+        return create(file, game, 64, 200);
+    }
+
+    public static GameEventLog create(Path file, WordLabyrinth game, int syncEvery, long syncMillis) throws IOException {
+        if (!game.isFresh()) {
+            throw new IllegalArgumentException("Game already has commands; its log would not replay");
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING);
+        GameEventLog log = new GameEventLog(channel, syncEvery);
+        log.buffer.putInt(MAGIC);
+        log.buffer.put((byte) game.getLevel().ordinal());
+        log.buffer.putInt(game.getGrid().getRows());
+        log.buffer.putInt(game.getGrid().getCols());
+        log.buffer.putLong(game.getSeed());
+        log.flush();
+        log.scheduledSync = SYNCER.scheduleWithFixedDelay(log::syncPending, syncMillis, syncMillis,
+            TimeUnit.MILLISECONDS);
+        return log;
+    }
+
+    public synchronized void recordMove(int row, int col) {
+        ensureRoom(9);
+        buffer.put(MOVE).putInt(row).putInt(col);
+        eventWritten();
+    }
+
+    public synchronized void recordSubmit() {
+        ensureRoom(1);
+        buffer.put(SUBMIT);
+        eventWritten();
+    }
+
+    public synchronized void recordReset() {
+        ensureRoom(1);
+        buffer.put(RESET);
+        eventWritten();
+    }
+
+    public synchronized void recordPath(int[] cells) {
+        ensureRoom(5 + 4 * cells.length);
+        buffer.put(PATH).putInt(cells.length);
+        for (int value : cells) {
+            buffer.putInt(value);
+        }
+        eventWritten();
+    }
+
+    /**
+     * Writes buffered events to the channel without forcing them to disk.
+     */
+    public synchronized void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Writes buffered events and forces them to disk.
+     */
+    public synchronized void sync() throws IOException {
+        flush();
+        channel.force(false);
+        unsyncedEvents = 0;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!channel.isOpen()) return;
+        scheduledSync.cancel(false);
+        try {
+            sync();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void ensureRoom(int bytes) {
+        if (buffer.remaining() < bytes) {
+            try {
+                flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        if (buffer.remaining() < bytes) {
+            throw new IllegalArgumentException("Event too large for log buffer");
+        }
+    }
+
+    private synchronized void syncPending() {
+        if (unsyncedEvents == 0 || !channel.isOpen()) return;
+        try {
+            sync();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void eventWritten() {
+        unsyncedEvents++;
+        if (unsyncedEvents >= syncEvery) {
+            try {
+                sync();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package game;
+
+import model.Dictionary.DifficultyLevel;
+import model.WordRepository;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps a few ready-made games per difficulty and board size so a new game
+ * can start without waiting for generation. Taking a game schedules a
+ * replacement on a low-priority background thread.
+ */
+public class GamePool {
+    private static final class Slot {
+        final BlockingQueue<WordLabyrinth> ready = new LinkedBlockingQueue<>();
+        // Ready games plus those being generated, so refills never overshoot
+        final AtomicInteger planned = new AtomicInteger();
+    }
+
+    private final WordRepository words;
+    private final int gamesPerBoard;
+    private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+    private final ExecutorService generator;
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    public GamePool(int gamesPerBoard) {
+        this(WordRepository.getDefault(), gamesPerBoard);
+    }
+
+    public GamePool(WordRepository words, int gamesPerBoard) {
+        this.words = words;
+        this.gamesPerBoard = gamesPerBoard;
+        this.generator = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "game-pool");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts filling the pool for a board without taking a game.
+     */
+    public void prepare(DifficultyLevel level, int rows, int cols) {
+        refill(level, rows, cols);
+    }
+
+    /**
+     * Returns a ready game, or generates one on the calling thread if none
+     * is ready yet. Either way a replacement is scheduled.
+     */
+    public WordLabyrinth take(DifficultyLevel level, int rows, int cols) {
+        Slot slot = slot(level, rows, cols);
+        WordLabyrinth game = slot.ready.poll();
+        if (game != null) {
+            slot.planned.decrementAndGet();
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            game = new WordLabyrinth(words, level, rows, cols, ThreadLocalRandom.current().nextLong());
+        }
+        refill(level, rows, cols);
+        return game;
+    }
+
+    public int getReadyCount(DifficultyLevel level, int rows, int cols) {
+        return slot(level, rows, cols).ready.size();
+    }
+
+    /**
+     * Returns how many games were served from the pool and how many had to
+     * be generated on the spot.
+     */
+    public int getHits() { return hits.get(); }
+    public int getMisses() { return misses.get(); }
+
+    public void shutdown() {
+        generator.shutdownNow();
+    }
+
+    private void refill(DifficultyLevel level, int rows, int cols) {
+        Slot slot = slot(level, rows, cols);
+        while (true) {
+            int planned = slot.planned.get();
+            if (planned >= gamesPerBoard) return;
+            if (!slot.planned.compareAndSet(planned, planned + 1)) continue;
+            try {
+                generator.execute(() -> {
+                    try {
+                        slot.ready.add(new WordLabyrinth(words, level, rows, cols,
+                            ThreadLocalRandom.current().nextLong()));
+                    } catch (RuntimeException e) {
+                        slot.planned.decrementAndGet();
+                        throw e;
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // Shut down; nothing more to prepare
+                slot.planned.decrementAndGet();
+                return;
+            }
+        }
+    }
+
+    private Slot slot(DifficultyLevel level, int rows, int cols) {
+        return slots.computeIfAbsent(level.name() + ' ' + rows + 'x' + cols, key -> new Slot());
+    }
+}
@@ -0,0 +1,84 @@
+package game;
+
+import model.*;
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+
+/**
+ * Rebuilds a game from a {@link GameEventLog} by regenerating the board from
+ * the logged seed and re-applying every event. The log is memory-mapped and
+ * decoded in place. Without a listener the replay fast-forwards with no
+ * per-event callbacks; a listener can drive a UI or step through the game.
+ */
+public class GameReplayer {
+
+    /**
+     * Receives each event after it has been applied during a replay.
+     */
+    public interface Listener {
+        void eventApplied(int index, byte type, WordLabyrinth game);
+    }
+
+    public static WordLabyrinth replay(Path file) throws IOException {
+        return replay(file, WordRepository.getDefault(), Integer.MAX_VALUE, null);
+    }
+
+    /**
+     * Replays at most maxEvents events against words from the repository,
+     * which must hold the same words the game was played with. A truncated
+     * final event, as left by a crash, ends the replay.
+     */
+    public static WordLabyrinth replay(Path file, WordRepository words, int maxEvents, Listener listener)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (in.remaining() < 21 || in.getInt() != GameEventLog.MAGIC) {
+                throw new IOException("Not a game log: " + file);
+            }
+            Dictionary.DifficultyLevel level = Dictionary.DifficultyLevel.values()[in.get()];
+            int rows = in.getInt();
+            int cols = in.getInt();
+            long seed = in.getLong();
+            WordLabyrinth game = new WordLabyrinth(words, level, rows, cols, seed);
+
+            for (int index = 0; index < maxEvents && in.hasRemaining(); index++) {
+                byte type = in.get();
+                if (!apply(type, in, game)) break;
+                if (listener != null) {
+                    listener.eventApplied(index, type, game);
+                }
+            }
+            return game;
+        }
+    }
+
+    private static boolean apply(byte type, ByteBuffer in, WordLabyrinth game) throws IOException {
+        switch (type) {
+            case GameEventLog.MOVE:
+                if (in.remaining() < 8) return false;
+                Cell cell = game.getGrid().getCell(in.getInt(), in.getInt());
+                if (cell != null) game.move(cell);
+                return true;
+            case GameEventLog.SUBMIT:
+                game.submitWord();
+                return true;
+            case GameEventLog.RESET:
+                game.resetPath();
+                return true;
+            case GameEventLog.PATH:
+                if (in.remaining() < 4) return false;
+                int length = in.getInt();
+                if (length < 0 || in.remaining() < 4L * length) return false;
+                int[] cells = new int[length];
+                for (int i = 0; i < length; i++) {
+                    cells[i] = in.getInt();
+                }
+                game.submitPath(cells);
+                return true;
+            default:
+                throw new IOException("Corrupt game log: unknown event type " + type);
+        }
+    }
+}
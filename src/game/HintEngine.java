@@ -0,0 +1,349 @@
+package game;
+
+import model.*;
+import java.util.*;
+
+/**
+ * Suggests the next move of a game: the next cell of an unfound word that
+ * extends the current path, or a step towards the destination when no
+ * word is in reach. The word search is a depth-first search over grid
+ * neighbors pruned by the dictionary trie and by a cache of (cell, trie
+ * node) states from which no unfound word can be spelled at all, even
+ * ignoring the no-revisit rule, next to the states known to reach one. The
+ * caches are primitive sets keyed by cellId * nodeCount + node, so lookups
+ * do not allocate. They, and the last suggested word
+ * path, stay valid until a cell is blocked or unblocked or a word is
+ * found, so repeated hints on a large board are cheap. Each query has a
+ * time budget; when it runs out the destination step is suggested.
+ */
+public class HintEngine implements GridChangeListener {
+    // Expansions between clock checks
+    private static final int CLOCK_INTERVAL = 256;
+
+    public static final class Hint {
+        public enum Type {
+            // Move to the cell to continue an unfound word
+            WORD,
+            // The current path spells an unfound word
+            SUBMIT,
+            // Move to the cell to get closer to the destination
+            DESTINATION,
+            // No useful move
+            NONE
+        }
+
+        private final Type type;
+        private final Cell cell;
+        private final String word;
+
+        Hint(Type type, Cell cell, String word) {
+            this.type = type;
+            this.cell = cell;
+            this.word = word;
+        }
+
+        public Type getType() { return type; }
+        public Cell getCell() { return cell; }
+        public String getWord() { return word; }
+
+        @Override
+        public String toString() {
+            return cell == null ? type.toString()
+                : String.format("%s (%d, %d)", type, cell.getRow(), cell.getCol());
+        }
+    }
+
+    private final WordLabyrinth game;
+    private final Grid grid;
+
+    // (cell id, trie node) states known to lead to no unfound word, and
+    // states known to lead to one
+    private final LongSet deadStates = new LongSet();
+    private final LongSet liveStates = new LongSet();
+    private WordTrie cachedTrie;
+    // Cell ids of the last suggested word, from the first letter on
+    private int[] cachedPath;
+    private String cachedWord;
+
+    // Scratch state of one query
+    private WordTrie trie;
+    private int levelMask;
+    private boolean[] visited;
+    private int[] path;
+    private char[] letters;
+    private long deadline;
+    private int expansions;
+    private boolean timedOut;
+    private int foundLength;
+
+    HintEngine(WordLabyrinth game) {
+        this.game = game;
+        this.grid = game.getGrid();
+        this.visited = new boolean[grid.getCellCount()];
+        this.path = new int[grid.getCellCount()];
+        this.letters = new char[grid.getCellCount()];
+    }
+
+    /**
+     * Drops all cached search results.
+     */
+    public void invalidate() {
+        deadStates.clear();
+        liveStates.clear();
+        cachedPath = null;
+        cachedWord = null;
+    }
+
+    @Override
+    public void cellBlockChanged(Grid grid, Cell cell, boolean blocked) {
+        invalidate();
+    }
+
+    public Hint nextHint(long budgetMillis) {
+        int length = game.getCurrentPathLength();
+        int movesLeft = game.getMovesLeft();
+        if (movesLeft <= 0 && length == 0) {
+            return new Hint(Hint.Type.NONE, null, null);
+        }
+
+        trie = game.getHintTrie();
+        levelMask = game.getHintLevelMask();
+        if (trie != cachedTrie) {
+            invalidate();
+            cachedTrie = trie;
+        }
+
+        // The current word may already be worth submitting
+        if (length > 0 && game.isCurrentWordValid()) {
+            String word = currentWord(length);
+            if (!game.isWordFound(word)) {
+                return new Hint(Hint.Type.SUBMIT, null, word);
+            }
+        }
+
+        // Still following the last suggestion?
+        Hint cached = followCachedPath(length, movesLeft);
+        if (cached != null) return cached;
+
+        if (movesLeft > 0) {
+            deadline = System.nanoTime() + budgetMillis * 1000000L;
+            expansions = 0;
+            timedOut = false;
+            if (searchWord(length, movesLeft)) {
+                cachedWord = new String(letters, 0, foundLength);
+                cachedPath = Arrays.copyOf(path, foundLength);
+                return new Hint(Hint.Type.WORD, grid.getCellById(path[length]), cachedWord);
+            }
+        }
+        return destinationHint(length, movesLeft);
+    }
+
+    private Hint followCachedPath(int length, int movesLeft) {
+        if (cachedPath == null || length >= cachedPath.length) return null;
+        if (cachedPath.length - length > movesLeft) return null;
+        for (int i = 0; i < length; i++) {
+            if (grid.getCellId(game.getCurrentPathCell(i)) != cachedPath[i]) return null;
+        }
+        return new Hint(Hint.Type.WORD, grid.getCellById(cachedPath[length]), cachedWord);
+    }
+
+    private boolean searchWord(int length, int movesLeft) {
+        Arrays.fill(visited, false);
+        if (length > 0) {
+            for (int i = 0; i < length; i++) {
+                Cell cell = game.getCurrentPathCell(i);
+                int id = grid.getCellId(cell);
+                path[i] = id;
+                visited[id] = true;
+                letters[i] = Character.toLowerCase(cell.getLetter());
+            }
+            return extend(path[length - 1], game.getCurrentNode(), length, movesLeft);
+        }
+
+        // Any cell can start a word; try the start cell first
+        Cell start = grid.getStartCell();
+        if (start != null && tryStart(grid.getCellId(start), movesLeft)) return true;
+        for (int id = 0; id < grid.getCellCount() && !timedOut; id++) {
+            if (start != null && id == grid.getCellId(start)) continue;
+            if (tryStart(id, movesLeft)) return true;
+        }
+        return false;
+    }
+
+    private boolean tryStart(int id, int movesLeft) {
+        Cell cell = grid.getCellById(id);
+        if (cell.isBlocked() || cell == grid.getDestinationCell()) return false;
+        int node = trie.step(WordTrie.ROOT, cell.getLetter());
+        if (!trie.isPrefixNode(node, levelMask)) return false;
+        letters[0] = Character.toLowerCase(cell.getLetter());
+        if (!isLive(id, node, 1)) return false;
+
+        path[0] = id;
+        visited[id] = true;
+        if (isUnfoundWord(node, 1)) {
+            foundLength = 1;
+            return true;
+        }
+        boolean found = extend(id, node, 1, movesLeft - 1);
+        visited[id] = false;
+        return found;
+    }
+
+    // Depth-first search for an unfound word that respects the game's
+    // rules, entering only states the relaxed cache says are live
+    private boolean extend(int cellId, int node, int length, int movesLeft) {
+        if (movesLeft <= 0 || outOfTime()) return false;
+        Cell destination = grid.getDestinationCell();
+        for (int m = grid.getNeighborMask(cellId); m != 0; m &= m - 1) {
+            int next = grid.getNeighborId(cellId, Integer.numberOfTrailingZeros(m));
+            if (visited[next]) continue;
+            Cell cell = grid.getCellById(next);
+            if (cell == destination) continue;
+
+            int child = trie.step(node, cell.getLetter());
+            if (!trie.isPrefixNode(child, levelMask)) continue;
+            letters[length] = Character.toLowerCase(cell.getLetter());
+            if (!isLive(next, child, length + 1)) continue;
+
+            visited[next] = true;
+            path[length] = next;
+            if (isUnfoundWord(child, length + 1)) {
+                foundLength = length + 1;
+                return true;
+            }
+            boolean found = extend(next, child, length + 1, movesLeft - 1);
+            visited[next] = false;
+            if (found) return true;
+            if (timedOut) return false;
+        }
+        return false;
+    }
+
+    // Whether an unfound word can be spelled from this state when cells may
+    // be revisited. False answers are exact and cached; an unfinished
+    // evaluation counts as live and is not cached
+    private boolean isLive(int cellId, int node, int length) {
+        long key = (long) cellId * trie.getNodeCount() + node;
+        if (deadStates.contains(key)) return false;
+        if (liveStates.contains(key)) return true;
+        if (outOfTime()) return true;
+
+        boolean live = isUnfoundWord(node, length);
+        Cell destination = grid.getDestinationCell();
+        for (int m = grid.getNeighborMask(cellId); m != 0 && !live; m &= m - 1) {
+            int next = grid.getNeighborId(cellId, Integer.numberOfTrailingZeros(m));
+            Cell cell = grid.getCellById(next);
+            if (cell == destination) continue;
+            int child = trie.step(node, cell.getLetter());
+            if (!trie.isPrefixNode(child, levelMask)) continue;
+            if (length >= letters.length) break;
+            letters[length] = Character.toLowerCase(cell.getLetter());
+            live = isLive(next, child, length + 1);
+        }
+        if (timedOut) return true;
+        (live ? liveStates : deadStates).add(key);
+        return live;
+    }
+
+    private boolean isUnfoundWord(int node, int length) {
+        return trie.isWordNode(node, levelMask) && !game.isWordFound(new String(letters, 0, length));
+    }
+
+    private boolean outOfTime() {
+        if (timedOut) return true;
+        if (++expansions % CLOCK_INTERVAL == 0 && System.nanoTime() > deadline) {
+            timedOut = true;
+        }
+        return timedOut;
+    }
+
+    private Hint destinationHint(int length, int movesLeft) {
+        if (length == 0) {
+            Cell start = grid.getStartCell();
+            return start == null || movesLeft <= 0
+                ? new Hint(Hint.Type.NONE, null, null)
+                : new Hint(Hint.Type.DESTINATION, start, null);
+        }
+
+        // The closest neighbor to the destination that is not on the path
+        int end = grid.getCellId(game.getCurrentPathCell(length - 1));
+        Cell best = null;
+        int bestDistance = DistanceField.UNREACHABLE;
+        for (int m = grid.getNeighborMask(end); m != 0; m &= m - 1) {
+            Cell cell = grid.getCellById(grid.getNeighborId(end, Integer.numberOfTrailingZeros(m)));
+            if (game.isOnCurrentPath(cell)) continue;
+            int distance = grid.getDistanceToDestination(cell);
+            if (distance < bestDistance) {
+                best = cell;
+                bestDistance = distance;
+            }
+        }
+        return best == null ? new Hint(Hint.Type.NONE, null, null) : new Hint(Hint.Type.DESTINATION, best, null);
+    }
+
+    private String currentWord(int length) {
+        char[] word = new char[length];
+        for (int i = 0; i < length; i++) {
+            word[i] = Character.toLowerCase(game.getCurrentPathCell(i).getLetter());
+        }
+        return new String(word);
+    }
+
+    /**
+     * An open-addressing set of non-negative longs.
+     */
+    private static final class LongSet {
+        private static final long EMPTY = -1;
+        private long[] keys = newTable(64);
+        private int size;
+
+        boolean contains(long key) {
+            int mask = keys.length - 1;
+            for (int i = slot(key, mask); ; i = (i + 1) & mask) {
+                if (keys[i] == key) return true;
+                if (keys[i] == EMPTY) return false;
+            }
+        }
+
+        void add(long key) {
+            // Keep the table at most half full
+            if (2 * (size + 1) > keys.length) {
+                long[] old = keys;
+                keys = newTable(old.length * 2);
+                size = 0;
+                for (long k : old) {
+                    if (k != EMPTY) insert(k);
+                }
+            }
+            insert(key);
+        }
+
+        void clear() {
+            if (size == 0) return;
+            Arrays.fill(keys, EMPTY);
+            size = 0;
+        }
+
+        private void insert(long key) {
+            int mask = keys.length - 1;
+            int i = slot(key, mask);
+            while (keys[i] != EMPTY) {
+                if (keys[i] == key) return;
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            size++;
+        }
+
+        private static int slot(long key, int mask) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+
+        private static long[] newTable(int capacity) {
+            long[] table = new long[capacity];
+            Arrays.fill(table, EMPTY);
+            return table;
+        }
+    }
+}
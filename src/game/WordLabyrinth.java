@@ -1,6 +1,7 @@
 package game;
 
 import model.*;
+import java.io.*;
 import java.util.*;
 
 /**
@@ -14,25 +15,70 @@ public class WordLabyrinth {
     private int movesLeftBonus; // Bonus from moves left
     private int completionBonus; // Bonus for completing the game
     private List<String> foundWords;
+    private Set<String> foundWordSet;
     private List<Cell> currentPath;
+    // Hot-path state of the current path: membership bits by cell id, and
+    // the trie node reached after each letter of the word so far
+    private long[] pathBits;
+    private int[] pathNodes;
+    private WordStore pathStore;
+    private GameEventLog eventLog;
+    // True until the first command, while the board is exactly what the seed generates
+    private boolean fresh;
+    private HintEngine hintEngine;
     private List<List<Cell>> previousPaths;
     private int movesLeft;
     private int requiredWords;
+    private static final long HINT_BUDGET_MILLIS = 50;
 
     public WordLabyrinth(model.Dictionary.DifficultyLevel level, int rows, int cols) {
-        dictionary = new model.Dictionary();
+        this(level, rows, cols, new Random().nextLong());
+    }
+
+    /**
+     * Creates a game whose board is fully determined by the seed.
+     */
+    public WordLabyrinth(model.Dictionary.DifficultyLevel level, int rows, int cols, long seed) {
+        this(WordRepository.getDefault(), level, rows, cols, seed);
+    }
+
+    /**
+     * Creates a game reading words from a repository shared with other sessions.
+     */
+    public WordLabyrinth(WordRepository words, model.Dictionary.DifficultyLevel level, int rows, int cols, long seed) {
+        dictionary = new model.Dictionary(words);
         dictionary.setDifficultyLevel(level);
         foundWords = new ArrayList<>();
-        currentPath = new ArrayList<>();
+        foundWordSet = new HashSet<>();
         previousPaths = new ArrayList<>();
         wordScore = 0;
         specialCellBonus = 0;
         movesLeftBonus = 0;
         completionBonus = 0;
-        initializeGame(level, rows, cols);
+        initializeGame(level, rows, cols, seed);
+        initializePathState();
+        fresh = true;
+    }
+
+    // Restores a game around a grid read from a snapshot
+    private WordLabyrinth(WordRepository words, model.Dictionary.DifficultyLevel level, Grid grid) {
+        dictionary = new model.Dictionary(words);
+        dictionary.setDifficultyLevel(level);
+        foundWords = new ArrayList<>();
+        foundWordSet = new HashSet<>();
+        previousPaths = new ArrayList<>();
+        this.grid = grid;
+        initializePathState();
+    }
+
+    private void initializePathState() {
+        // A path never holds a cell twice, so these never need to grow
+        currentPath = new ArrayList<>(grid.getCellCount());
+        pathBits = new long[(grid.getCellCount() + 63) >>> 6];
+        pathNodes = new int[grid.getCellCount()];
     }
 
-    private void initializeGame(model.Dictionary.DifficultyLevel level, int rows, int cols) {
+    private void initializeGame(model.Dictionary.DifficultyLevel level, int rows, int cols, long seed) {
         // Set game parameters based on difficulty
         switch (level) {
             case EASY:
@@ -53,8 +99,8 @@ public class WordLabyrinth {
         }
 
         // Create grid with required number of words
-        grid = new Grid(rows, cols, requiredWords);
-        grid.initializeGrid(dictionary.getWords());
+        grid = new Grid(rows, cols, requiredWords, seed);
+        grid.initializeGrid(dictionary.getWordIndex());
     }
 
     private void setRandomStartAndDestination() {
@@ -83,41 +129,95 @@ public class WordLabyrinth {
         }
     }
 
+    /**
+     * Records every command applied to this game from now on.
+     */
+    public void setEventLog(GameEventLog eventLog) {
+        this.eventLog = eventLog;
+    }
+
+    public GameEventLog getEventLog() {
+        return eventLog;
+    }
+
+    /**
+     * Returns true if no command has been applied since the board was
+     * generated from its seed. Games restored from a snapshot never are.
+     */
+    public boolean isFresh() {
+        return fresh;
+    }
+
     public boolean move(Cell cell) {
+        fresh = false;
+        if (eventLog != null) eventLog.recordMove(cell.getRow(), cell.getCol());
+        return applyMove(cell);
+    }
+
+    private boolean applyMove(Cell cell) {
         if (movesLeft <= 0) return false;
         
         // Check if move is valid
+        int node;
         if (currentPath.isEmpty()) {
             // First move can be anywhere except blocked cells and destination
             if (cell.isBlocked() || cell == grid.getDestinationCell()) return false;
+            // Pin the word snapshot so trie nodes stay valid for the whole path
+            pathStore = dictionary.getStore();
+            node = pathStore.getTrie().step(WordTrie.ROOT, cell.getLetter());
         } else {
             Cell lastCell = currentPath.get(currentPath.size() - 1);
-            if (!grid.getNeighbors(lastCell).contains(cell)) return false;
+            if (!grid.areNeighbors(lastCell, cell)) return false;
             if (cell.isBlocked()) return false;
+            node = pathStore.getTrie().step(pathNodes[currentPath.size() - 1], cell.getLetter());
         }
 
         // Add cell to path if not already in path
-        if (!currentPath.contains(cell)) {
-            currentPath.add(cell);
-            movesLeft--;
-            return true;
-        }
-        
-        return false;
+        int id = grid.getCellId(cell);
+        if ((pathBits[id >>> 6] & (1L << id)) != 0) return false;
+
+        pathBits[id >>> 6] |= 1L << id;
+        pathNodes[currentPath.size()] = node;
+        currentPath.add(cell);
+        movesLeft--;
+        return true;
+    }
+
+    /**
+     * Returns true if the letters of the current path form a valid word.
+     */
+    public boolean isCurrentWordValid() {
+        return !currentPath.isEmpty()
+            && pathStore.getTrie().isWordNode(pathNodes[currentPath.size() - 1], dictionary.getLevelMask());
+    }
+
+    /**
+     * Returns true if the current path can still be extended into a word.
+     */
+    public boolean isCurrentPrefixValid() {
+        return currentPath.isEmpty()
+            || pathStore.getTrie().isPrefixNode(pathNodes[currentPath.size() - 1], dictionary.getLevelMask());
     }
 
     public boolean submitWord() {
+        fresh = false;
+        if (eventLog != null) eventLog.recordSubmit();
+        return applySubmit();
+    }
+
+    private boolean applySubmit() {
         if (currentPath.isEmpty()) return false;
+        if (!isCurrentWordValid()) return false;
 
-        StringBuilder word = new StringBuilder();
-        for (Cell cell : currentPath) {
-            word.append(cell.getLetter());
+        char[] letters = new char[currentPath.size()];
+        for (int i = 0; i < letters.length; i++) {
+            letters[i] = Character.toLowerCase(currentPath.get(i).getLetter());
         }
 
-        String wordStr = word.toString().toLowerCase();
-        if (dictionary.isValidWord(wordStr) && !foundWords.contains(wordStr)) {
+        String wordStr = new String(letters);
+        if (foundWordSet.add(wordStr)) {
             // Calculate word score based on difficulty
-            int currentWordScore = dictionary.getWordScore(wordStr);
+            int currentWordScore = dictionary.getWordScore(letters.length);
             wordScore += currentWordScore;
             
             // Add special cell bonus
@@ -138,7 +238,10 @@ public class WordLabyrinth {
 
             // Add current path to previous paths before clearing
             previousPaths.add(new ArrayList<>(currentPath));
-            currentPath.clear();
+            clearCurrentPath();
+
+            // A found word and newly used cells make cached hints stale
+            if (hintEngine != null) hintEngine.invalidate();
 
             return true;
         }
@@ -146,6 +249,132 @@ public class WordLabyrinth {
         return false;
     }
 
+    /**
+     * Traces and submits a whole word in one call. cells holds row/column
+     * pairs (r0, c0, r1, c1, ...). Adjacency, revisits, the moves budget and
+     * the word are checked in a single pass, and the word is applied only if
+     * everything is valid; otherwise the game is left untouched. The current
+     * path must be empty.
+     */
+    public boolean submitPath(int[] cells) {
+        fresh = false;
+        if (eventLog != null) eventLog.recordPath(cells);
+        if (!currentPath.isEmpty() || cells.length == 0 || cells.length % 2 != 0) return false;
+        if (cells.length / 2 > movesLeft) return false;
+
+        int movesBefore = movesLeft;
+        for (int i = 0; i < cells.length; i += 2) {
+            Cell cell = grid.getCell(cells[i], cells[i + 1]);
+            // Stop as soon as the letters cannot lead to a word
+            if (cell == null || !applyMove(cell) || !isCurrentPrefixValid()) {
+                rollbackPath(movesBefore);
+                return false;
+            }
+        }
+        if (applySubmit()) return true;
+
+        rollbackPath(movesBefore);
+        return false;
+    }
+
+    private void rollbackPath(int movesBefore) {
+        clearCurrentPath();
+        movesLeft = movesBefore;
+    }
+
+    private void clearCurrentPath() {
+        for (Cell cell : currentPath) {
+            int id = grid.getCellId(cell);
+            pathBits[id >>> 6] &= ~(1L << id);
+        }
+        currentPath.clear();
+    }
+
+    /**
+     * Checks that this board can still be won with the moves left.
+     */
+    public GridVerifier.Result verify() {
+        return GridVerifier.verify(grid, requiredWords, movesLeft);
+    }
+
+    /**
+     * Writes the full game state in a compact binary form: the grid (see
+     * {@link Grid#writeTo(DataOutput)}), counters, found words and paths as
+     * cell ids. The event log, if any, is not part of the snapshot.
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeByte(getLevel().ordinal());
+        grid.writeTo(out);
+        out.writeInt(movesLeft);
+        out.writeInt(requiredWords);
+        out.writeInt(wordScore);
+        out.writeInt(specialCellBonus);
+        out.writeInt(foundWords.size());
+        for (String word : foundWords) {
+            out.writeUTF(word);
+        }
+        writePath(out, currentPath);
+        out.writeInt(previousPaths.size());
+        for (List<Cell> path : previousPaths) {
+            writePath(out, path);
+        }
+    }
+
+    /**
+     * Restores a game written by {@link #writeTo(DataOutput)}, validating
+     * words against the given repository.
+     */
+    public static WordLabyrinth readFrom(DataInput in, WordRepository words) throws IOException {
+        int ordinal = in.readUnsignedByte();
+        model.Dictionary.DifficultyLevel[] levels = model.Dictionary.DifficultyLevel.values();
+        if (ordinal >= levels.length) {
+            throw new IOException("bad difficulty level");
+        }
+        model.Dictionary.DifficultyLevel level = levels[ordinal];
+        WordLabyrinth game = new WordLabyrinth(words, level, Grid.readFrom(in));
+        game.movesLeft = in.readInt();
+        game.requiredWords = in.readInt();
+        game.wordScore = in.readInt();
+        game.specialCellBonus = in.readInt();
+        int found = in.readInt();
+        for (int i = 0; i < found; i++) {
+            String word = in.readUTF();
+            game.foundWords.add(word);
+            game.foundWordSet.add(word);
+        }
+
+        // Re-walk the current path to rebuild its bits and trie nodes
+        List<Cell> current = game.readPath(in);
+        int moves = game.movesLeft;
+        game.movesLeft = Integer.MAX_VALUE;
+        for (Cell cell : current) {
+            game.applyMove(cell);
+        }
+        game.movesLeft = moves;
+
+        int previous = in.readInt();
+        for (int i = 0; i < previous; i++) {
+            game.previousPaths.add(game.readPath(in));
+        }
+        return game;
+    }
+
+    private void writePath(DataOutput out, List<Cell> path) throws IOException {
+        out.writeInt(path.size());
+        for (Cell cell : path) {
+            out.writeInt(grid.getCellId(cell));
+        }
+    }
+
+    private List<Cell> readPath(DataInput in) throws IOException {
+        int length = in.readInt();
+        List<Cell> path = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            path.add(grid.getCellById(in.readInt()));
+        }
+        return path;
+    }
+
     // Get current score (only words found)
     public int getCurrentScore() {
         return wordScore;
@@ -185,10 +414,12 @@ public class WordLabyrinth {
     }
 
     public void resetPath() {
+        fresh = false;
+        if (eventLog != null) eventLog.recordReset();
         if (!currentPath.isEmpty()) {
             previousPaths.add(new ArrayList<>(currentPath));
         }
-        currentPath.clear();
+        clearCurrentPath();
     }
 
     public boolean hasWon() {
@@ -205,9 +436,51 @@ public class WordLabyrinth {
 
     // Getters
     public Grid getGrid() { return grid; }
+    public long getSeed() { return grid.getSeed(); }
+    public model.Dictionary.DifficultyLevel getLevel() { return dictionary.getCurrentLevel(); }
     public List<String> getFoundWords() { return new ArrayList<>(foundWords); }
+    public int getFoundWordCount() { return foundWords.size(); }
     public int getMovesLeft() { return movesLeft; }
     public int getRequiredWords() { return requiredWords; }
     public List<Cell> getCurrentPath() { return new ArrayList<>(currentPath); }
     public List<List<Cell>> getPreviousPaths() { return previousPaths; }
+
+    // Non-copying views for callers that poll the game after every action
+    public int getCurrentPathLength() { return currentPath.size(); }
+    public Cell getCurrentPathCell(int index) { return currentPath.get(index); }
+    public String getFoundWord(int index) { return foundWords.get(index); }
+
+    /**
+     * Suggests the next move within the default time budget.
+     */
+    public HintEngine.Hint getHint() {
+        return getHint(HINT_BUDGET_MILLIS);
+    }
+
+    /**
+     * Suggests the next move: the next cell of an unfound word reachable
+     * from the current path, a word ready to submit, or a step towards the
+     * destination if no word is found within budgetMillis.
+     */
+    public HintEngine.Hint getHint(long budgetMillis) {
+        if (hintEngine == null) {
+            hintEngine = new HintEngine(this);
+            grid.addGridChangeListener(hintEngine);
+        }
+        return hintEngine.nextHint(budgetMillis);
+    }
+
+    // Search state shared with the hint engine
+    WordTrie getHintTrie() {
+        return currentPath.isEmpty() ? dictionary.getStore().getTrie() : pathStore.getTrie();
+    }
+
+    int getHintLevelMask() { return dictionary.getLevelMask(); }
+    int getCurrentNode() { return pathNodes[currentPath.size() - 1]; }
+    boolean isWordFound(String word) { return foundWordSet.contains(word); }
+
+    public boolean isOnCurrentPath(Cell cell) {
+        int id = grid.getCellId(cell);
+        return (pathBits[id >>> 6] & (1L << id)) != 0;
+    }
 }
@@ -0,0 +1,109 @@
+package game;
+
+import model.*;
+import java.util.*;
+import java.util.stream.*;
+
+/**
+ * Finds every dictionary word that can be traced on a board. A depth-first
+ * search runs from each cell, following the same rules as
+ * {@link WordLabyrinth#move(Cell)}: the first cell may be any non-blocked
+ * cell except the destination, each next cell must be a neighbor, and no
+ * cell is visited twice. The dictionary trie prunes every branch that is
+ * not the prefix of a word. Starting cells are searched in parallel.
+ */
+public class WordSolver {
+    private final Grid grid;
+    private final WordTrie trie;
+    private final int levelMask;
+
+    public WordSolver(Grid grid, model.Dictionary dictionary) {
+        this.grid = grid;
+        this.trie = dictionary.getTrie();
+        this.levelMask = dictionary.getLevelMask();
+    }
+
+    /**
+     * Returns every findable word, in alphabetical order, with one path that
+     * spells it. The path chosen for a word does not depend on thread timing.
+     */
+    public Map<String, List<Cell>> solve() {
+        List<Map<String, int[]>> perStart = IntStream.range(0, grid.getCellCount())
+            .parallel()
+            .mapToObj(this::solveFrom)
+            .collect(Collectors.toList());
+
+        Map<String, List<Cell>> result = new TreeMap<>();
+        for (Map<String, int[]> found : perStart) {
+            for (Map.Entry<String, int[]> entry : found.entrySet()) {
+                if (!result.containsKey(entry.getKey())) {
+                    result.put(entry.getKey(), toCells(entry.getValue()));
+                }
+            }
+        }
+        return result;
+    }
+
+    private Map<String, int[]> solveFrom(int startId) {
+        Cell start = grid.getCellById(startId);
+        if (start.isBlocked() || start == grid.getDestinationCell()) {
+            return Collections.emptyMap();
+        }
+        int node = trie.step(WordTrie.ROOT, start.getLetter());
+        if (!trie.isPrefixNode(node, levelMask)) {
+            return Collections.emptyMap();
+        }
+
+        Search search = new Search();
+        search.path[0] = startId;
+        search.visited[startId] = true;
+        search.extend(startId, node, 1);
+        return search.found;
+    }
+
+    private List<Cell> toCells(int[] ids) {
+        List<Cell> cells = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            cells.add(grid.getCellById(id));
+        }
+        return cells;
+    }
+
+    /**
+     * Scratch state of the search from one starting cell.
+     */
+    private class Search {
+        final boolean[] visited = new boolean[grid.getCellCount()];
+        final int[] path = new int[grid.getCellCount()];
+        final Map<String, int[]> found = new HashMap<>();
+
+        void extend(int cellId, int node, int length) {
+            if (trie.isWordNode(node, levelMask)) {
+                record(length);
+            }
+            for (int m = grid.getNeighborMask(cellId); m != 0; m &= m - 1) {
+                int next = grid.getNeighborId(cellId, Integer.numberOfTrailingZeros(m));
+                if (visited[next]) continue;
+
+                int child = trie.step(node, grid.getCellById(next).getLetter());
+                if (!trie.isPrefixNode(child, levelMask)) continue;
+
+                visited[next] = true;
+                path[length] = next;
+                extend(next, child, length + 1);
+                visited[next] = false;
+            }
+        }
+
+        private void record(int length) {
+            char[] letters = new char[length];
+            for (int i = 0; i < length; i++) {
+                letters[i] = Character.toLowerCase(grid.getCellById(path[i]).getLetter());
+            }
+            String word = new String(letters);
+            if (!found.containsKey(word)) {
+                found.put(word, Arrays.copyOf(path, length));
+            }
+        }
+    }
+}
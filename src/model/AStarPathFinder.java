@@ -0,0 +1,98 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * A* search using the Chebyshev distance, which is exact on an open
+ * 8-connected grid and never overestimates around obstacles.
+ */
+class AStarPathFinder extends GridPathFinder {
+    private int[] cost = new int[0];
+    private int[] closed = new int[0];
+    private int[] heapIds = new int[0];
+    private int[] heapKeys = new int[0];
+    private int heapSize;
+
+    @Override
+    protected void prepare(int cellCount) {
+        boolean resized = visited.length < cellCount;
+        super.prepare(cellCount);
+        if (resized || cost.length < cellCount) {
+            cost = new int[cellCount];
+            closed = new int[cellCount];
+            // A cell can be pushed once per improvement, bounded by its 8 neighbors
+            heapIds = new int[cellCount * Grid.DIRECTIONS + 1];
+            heapKeys = new int[heapIds.length];
+        } else if (stamp == 1) {
+            // The stamp wrapped; stale closed marks could match it again
+            Arrays.fill(closed, 0);
+        }
+    }
+
+    @Override
+    protected boolean search(Grid grid, int startId, int endId) {
+        int cols = grid.getCols();
+        int endRow = endId / cols;
+        int endCol = endId % cols;
+
+        heapSize = 0;
+        visited[startId] = stamp;
+        cost[startId] = 0;
+        push(startId, heuristic(startId, cols, endRow, endCol));
+
+        while (heapSize > 0) {
+            int current = pop();
+            if (closed[current] == stamp) continue;
+            if (current == endId) return true;
+            closed[current] = stamp;
+
+            int nextCost = cost[current] + 1;
+            for (int m = grid.getNeighborMask(current); m != 0; m &= m - 1) {
+                int next = grid.getNeighborId(current, Integer.numberOfTrailingZeros(m));
+                if (closed[next] == stamp) continue;
+                if (visited[next] == stamp && cost[next] <= nextCost) continue;
+                visited[next] = stamp;
+                cost[next] = nextCost;
+                parent[next] = current;
+                push(next, nextCost + heuristic(next, cols, endRow, endCol));
+            }
+        }
+        return false;
+    }
+
+    private static int heuristic(int id, int cols, int endRow, int endCol) {
+        return Math.max(Math.abs(id / cols - endRow), Math.abs(id % cols - endCol));
+    }
+
+    private void push(int id, int key) {
+        int i = heapSize++;
+        while (i > 0) {
+            int p = (i - 1) >>> 1;
+            if (heapKeys[p] <= key) break;
+            heapIds[i] = heapIds[p];
+            heapKeys[i] = heapKeys[p];
+            i = p;
+        }
+        heapIds[i] = id;
+        heapKeys[i] = key;
+    }
+
+    private int pop() {
+        int result = heapIds[0];
+        int id = heapIds[--heapSize];
+        int key = heapKeys[heapSize];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) break;
+            if (child + 1 < heapSize && heapKeys[child + 1] < heapKeys[child]) child++;
+            if (heapKeys[child] >= key) break;
+            heapIds[i] = heapIds[child];
+            heapKeys[i] = heapKeys[child];
+            i = child;
+        }
+        heapIds[i] = id;
+        heapKeys[i] = key;
+        return result;
+    }
+}
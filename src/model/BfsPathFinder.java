@@ -0,0 +1,27 @@
+package model;
+
+/**
+ * Breadth-first search over the packed neighbor masks of a grid.
+ */
+class BfsPathFinder extends GridPathFinder {
+    @Override
+    protected boolean search(Grid grid, int startId, int endId) {
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = startId;
+        visited[startId] = stamp;
+
+        while (head < tail) {
+            int current = queue[head++];
+            for (int m = grid.getNeighborMask(current); m != 0; m &= m - 1) {
+                int next = grid.getNeighborId(current, Integer.numberOfTrailingZeros(m));
+                if (visited[next] == stamp) continue;
+                visited[next] = stamp;
+                parent[next] = current;
+                if (next == endId) return true;
+                queue[tail++] = next;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,120 @@
+package model;
+
+import java.util.*;
+
+/**
+ * Bidirectional BFS expanding whole layers from the smaller frontier and
+ * stopping after the first layer in which the two searches meet.
+ */
+class BidirectionalBfsPathFinder extends GridPathFinder {
+    // Forward state uses the inherited buffers; these hold the backward side
+    private int[] forwardDistance = new int[0];
+    private int[] backwardDistance = new int[0];
+    private int[] child = new int[0];
+    private int[] visitedBackward = new int[0];
+    private int[] backQueue = new int[0];
+    private int meetFrom;
+    private int meetTo;
+
+    @Override
+    protected void prepare(int cellCount) {
+        boolean resized = visited.length < cellCount;
+        super.prepare(cellCount);
+        if (resized) {
+            forwardDistance = new int[cellCount];
+            backwardDistance = new int[cellCount];
+            child = new int[cellCount];
+            visitedBackward = new int[cellCount];
+            backQueue = new int[cellCount];
+        } else if (stamp == 1) {
+            Arrays.fill(visitedBackward, 0);
+        }
+    }
+
+    @Override
+    protected boolean search(Grid grid, int startId, int endId) {
+        int cols = grid.getCols();
+        boolean startBlocked = grid.getCellById(startId).isBlocked();
+        int forwardHead = 0, forwardTail = 0;
+        int backHead = 0, backTail = 0;
+
+        queue[forwardTail++] = startId;
+        visited[startId] = stamp;
+        forwardDistance[startId] = 0;
+        backQueue[backTail++] = endId;
+        visitedBackward[endId] = stamp;
+        backwardDistance[endId] = 0;
+        int best = Integer.MAX_VALUE;
+
+        while (forwardHead < forwardTail && backHead < backTail) {
+            if (forwardTail - forwardHead <= backTail - backHead) {
+                int layerEnd = forwardTail;
+                while (forwardHead < layerEnd) {
+                    int current = queue[forwardHead++];
+                    for (int m = grid.getNeighborMask(current); m != 0; m &= m - 1) {
+                        int next = grid.getNeighborId(current, Integer.numberOfTrailingZeros(m));
+                        if (visitedBackward[next] == stamp) {
+                            int total = forwardDistance[current] + 1 + backwardDistance[next];
+                            if (total < best) {
+                                best = total;
+                                meetFrom = current;
+                                meetTo = next;
+                            }
+                        } else if (visited[next] != stamp) {
+                            visited[next] = stamp;
+                            parent[next] = current;
+                            forwardDistance[next] = forwardDistance[current] + 1;
+                            queue[forwardTail++] = next;
+                        }
+                    }
+                }
+            } else {
+                int layerEnd = backTail;
+                while (backHead < layerEnd) {
+                    int current = backQueue[backHead++];
+                    for (int m = grid.getNeighborMask(current); m != 0; m &= m - 1) {
+                        int prev = grid.getNeighborId(current, Integer.numberOfTrailingZeros(m));
+                        if (visited[prev] == stamp) {
+                            int total = forwardDistance[prev] + 1 + backwardDistance[current];
+                            if (total < best) {
+                                best = total;
+                                meetFrom = prev;
+                                meetTo = current;
+                            }
+                        } else if (visitedBackward[prev] != stamp) {
+                            visitedBackward[prev] = stamp;
+                            child[prev] = current;
+                            backwardDistance[prev] = backwardDistance[current] + 1;
+                            backQueue[backTail++] = prev;
+                        }
+                    }
+                    // A blocked start cell is missing from the masks but may still move out
+                    if (startBlocked && Math.abs(current / cols - startId / cols) <= 1
+                            && Math.abs(current % cols - startId % cols) <= 1
+                            && 1 + backwardDistance[current] < best) {
+                        best = 1 + backwardDistance[current];
+                        meetFrom = startId;
+                        meetTo = current;
+                    }
+                }
+            }
+            if (best != Integer.MAX_VALUE) return true;
+        }
+        return false;
+    }
+
+    @Override
+    protected List<Cell> buildPath(Grid grid, int startId, int endId) {
+        List<Cell> path = new ArrayList<>();
+        for (int id = meetFrom; id != startId; id = parent[id]) {
+            path.add(grid.getCellById(id));
+        }
+        path.add(grid.getCellById(startId));
+        Collections.reverse(path);
+        for (int id = meetTo; id != endId; id = child[id]) {
+            path.add(grid.getCellById(id));
+        }
+        path.add(grid.getCellById(endId));
+        return path;
+    }
+}
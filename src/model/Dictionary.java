@@ -1,15 +1,13 @@
 package model;
 
-import java.io.*;
 import java.util.*;
 
 /**
- * Manages the word dictionaries for different difficulty levels.
+ * A per-session view of the word dictionaries: the words live in a shared
+ * {@link WordRepository}, and this object only selects the difficulty level.
  */
 public class Dictionary {
-    private Set<String> easyWords;
-    private Set<String> mediumWords;
-    private Set<String> hardWords;
+    private final WordRepository repository;
     private DifficultyLevel currentLevel;
 
     public enum DifficultyLevel {
@@ -18,31 +16,19 @@ public class Dictionary {
         HARD
     }
 
+    /**
+     * Creates a dictionary with its own copy of the built-in words.
+     */
     public Dictionary() {
-        easyWords = new HashSet<>();
-        mediumWords = new HashSet<>();
-        hardWords = new HashSet<>();
-        currentLevel = DifficultyLevel.EASY;
-        
-        // Initialize with some sample words for each difficulty
-        initializeDefaultWords();
+        this(new WordRepository(WordStore.defaults()));
     }
 
-    private void initializeDefaultWords() {
-        // Easy words (3-4 letters)
-        String[] easy = {"cat", "dog", "run", "jump", "play", "ball", "home", "tree",
-                        "book", "fish", "bird", "walk", "talk", "sing", "food"};
-        easyWords.addAll(Arrays.asList(easy));
-
-        // Medium words (5-7 letters)
-        String[] medium = {"garden", "flower", "window", "pencil", "school", "friend",
-                          "purple", "orange", "yellow", "monkey", "rabbit", "turtle"};
-        mediumWords.addAll(Arrays.asList(medium));
-
-        // Hard words (8+ letters)
-        String[] hard = {"elephant", "butterfly", "chocolate", "adventure", "beautiful",
-                        "dangerous", "wonderful", "knowledge", "important", "different"};
-        hardWords.addAll(Arrays.asList(hard));
+    /**
+     * Creates a dictionary reading from a repository shared with other sessions.
+     */
+    public Dictionary(WordRepository repository) {
+        this.repository = repository;
+        this.currentLevel = DifficultyLevel.EASY;
     }
 
     public void setDifficultyLevel(DifficultyLevel level) {
@@ -53,52 +39,82 @@ public class Dictionary {
         return currentLevel;
     }
 
+    public WordRepository getRepository() {
+        return repository;
+    }
+
+    /**
+     * Returns the current word snapshot. Callers doing several lookups that
+     * must agree with each other should hold on to one snapshot.
+     */
+    public WordStore getStore() {
+        return repository.snapshot();
+    }
+
     public boolean isValidWord(String word) {
-        word = word.toLowerCase();
-        switch (currentLevel) {
-            case EASY:
-                return easyWords.contains(word);
-            case MEDIUM:
-                return mediumWords.contains(word);
-            case HARD:
-                return hardWords.contains(word);
-            default:
-                return false;
-        }
+        return isWord(word);
+    }
+
+    /**
+     * Returns true if the letters form a word of the current level. The check
+     * is case-insensitive and does not allocate.
+     */
+    public boolean isWord(CharSequence word) {
+        return getStore().isWord(word, currentLevel);
+    }
+
+    /**
+     * Returns true if some word of the current level starts with the letters.
+     */
+    public boolean isPrefix(CharSequence prefix) {
+        return getStore().isPrefix(prefix, currentLevel);
+    }
+
+    /**
+     * Returns the trie holding the words of every level. Use with
+     * {@link #getLevelMask()} to walk it one letter at a time.
+     */
+    public WordTrie getTrie() {
+        return getStore().getTrie();
+    }
+
+    public int getLevelMask() {
+        return WordStore.levelMask(currentLevel);
     }
 
     public Set<String> getCurrentDictionary() {
-        switch (currentLevel) {
-            case EASY:
-                return new HashSet<>(easyWords);
-            case MEDIUM:
-                return new HashSet<>(mediumWords);
-            case HARD:
-                return new HashSet<>(hardWords);
-            default:
-                return new HashSet<>();
-        }
+        return getStore().getWords(currentLevel);
+    }
+
+    /**
+     * Returns the sorted, length-bucketed words of the current level.
+     */
+    public WordIndex getWordIndex() {
+        return getWordIndex(currentLevel);
+    }
+
+    public WordIndex getWordIndex(DifficultyLevel level) {
+        return getStore().getWordIndex(level);
     }
 
+    /**
+     * Adds a word to the shared repository. Sessions already holding a
+     * snapshot keep validating against it undisturbed.
+     */
     public void addWord(String word, DifficultyLevel level) {
-        word = word.toLowerCase();
-        switch (level) {
-            case EASY:
-                easyWords.add(word);
-                break;
-            case MEDIUM:
-                mediumWords.add(word);
-                break;
-            case HARD:
-                hardWords.add(word);
-                break;
-        }
+        repository.addWord(word, level);
     }
 
     public int getWordScore(String word) {
         if (!isValidWord(word)) return 0;
-        
-        int baseScore = word.length() * 10;
+        return getWordScore(word.length());
+    }
+
+    /**
+     * Returns the score of an already validated word of the given length.
+     */
+    public int getWordScore(int length) {
+        int baseScore = length * 10;
         switch (currentLevel) {
             case EASY:
                 return baseScore;
@@ -111,16 +127,18 @@ public class Dictionary {
         }
     }
 
+    /**
+     * Returns a read-only view of the current level's words.
+     */
     public Set<String> getWords() {
-        switch (currentLevel) {
-            case EASY:
-                return new HashSet<>(easyWords);
-            case MEDIUM:
-                return new HashSet<>(mediumWords);
-            case HARD:
-                return new HashSet<>(hardWords);
-            default:
-                return new HashSet<>(easyWords);
-        }
+        return getStore().getWords(currentLevel);
+    }
+
+    public String getMemoryReport() {
+        return getStore().getMemoryReport();
+    }
+
+    public long estimateResidentBytes() {
+        return getStore().estimateResidentBytes();
     }
 }
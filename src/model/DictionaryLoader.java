@@ -0,0 +1,302 @@
+package model;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+
+/**
+ * Loads word lists into a {@link Dictionary} through memory-mapped files.
+ * Two formats are understood:
+ * <ul>
+ *   <li>plain text, one word per line, with lines starting with '#'
+ *       ignored; words are classified by length (3-4 letters easy, 5-7
+ *       medium, 8 or more hard) and words shorter than 3 letters or with
+ *       non-letters, including spaces between letters, are skipped;
+ *       leading and trailing spaces are ignored;</li>
+ *   <li>binary, starting with {@link #BINARY_MAGIC} and followed by one
+ *       section per level: a level byte, a big-endian int word count, then
+ *       each word as a length byte and its ASCII letters. Words with
+ *       anything but letters are skipped.</li>
+ * </ul>
+ * Bytes are decoded straight from the mapped buffer into one reusable
+ * letter buffer, so no per-line Strings or word lists are built. Loaded
+ * words go straight into a copy of the repository's current
+ * {@link WordStore}, which is published in a single swap.
+ */
+public class DictionaryLoader {
+    public static final byte[] BINARY_MAGIC = {'W', 'L', 'D', '1'};
+    private static final int MAX_WORD_LENGTH = 255;
+    // Files are mapped in windows so lists larger than 2 GB still load
+    private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+
+    /**
+     * The outcome of one load.
+     */
+    public static class LoadReport {
+        private final int[] loadedPerLevel = new int[Dictionary.DifficultyLevel.values().length];
+        private int skipped;
+        private int duplicates;
+        private long elapsedNanos;
+        private long residentBytes;
+
+        public int getLoaded() {
+            int total = 0;
+            for (int count : loadedPerLevel) total += count;
+            return total;
+        }
+
+        public int getLoaded(Dictionary.DifficultyLevel level) { return loadedPerLevel[level.ordinal()]; }
+        public int getSkipped() { return skipped; }
+        public int getDuplicates() { return duplicates; }
+        public long getElapsedNanos() { return elapsedNanos; }
+        public long getResidentBytes() { return residentBytes; }
+
+        @Override
+        public String toString() {
+            return String.format("Loaded %d words (easy %d, medium %d, hard %d, skipped %d, duplicates %d) in %.1f ms, ~%d KB resident",
+                getLoaded(), loadedPerLevel[0], loadedPerLevel[1], loadedPerLevel[2], skipped, duplicates,
+                elapsedNanos / 1e6, residentBytes / 1024);
+        }
+    }
+
+    public static LoadReport load(Path file, Dictionary dictionary) throws IOException {
+        return load(file, dictionary.getRepository());
+    }
+
+    public static LoadReport load(Path file, WordRepository repository) throws IOException {
+        long start = System.nanoTime();
+        LoadReport report = new LoadReport();
+        WordStore base = repository.snapshot();
+        WordStore.Builder builder = new WordStore.Builder(base);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            Decoder decoder = isBinary(channel) ? new BinaryDecoder(builder, report) : new TextDecoder(builder, report);
+            long position = decoder.headerLength();
+            while (position < size) {
+                long length = Math.min(WINDOW_SIZE, size - position);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                while (window.hasRemaining()) {
+                    decoder.accept(window.get());
+                }
+                position += length;
+            }
+            decoder.finish();
+        }
+        WordStore loaded = builder.build();
+        if (!repository.compareAndSet(base, loaded)) {
+            // Another writer got in first; fold our store into theirs
+            repository.addAll(loaded);
+        }
+        report.elapsedNanos = System.nanoTime() - start;
+        report.residentBytes = repository.snapshot().estimateResidentBytes();
+        return report;
+    }
+
+    /**
+     * Writes every word of the dictionary in the binary format.
+     */
+    public static void writeBinary(Dictionary dictionary, Path file) throws IOException {
+        writeBinary(dictionary.getStore(), file);
+    }
+
+    public static void writeBinary(WordStore store, Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.write(BINARY_MAGIC);
+            for (Dictionary.DifficultyLevel level : Dictionary.DifficultyLevel.values()) {
+                int count = 0;
+                for (String word : store.getWords(level)) {
+                    if (word.length() <= MAX_WORD_LENGTH) count++;
+                }
+                out.writeByte(level.ordinal());
+                out.writeInt(count);
+                for (String word : store.getWords(level)) {
+                    if (word.length() > MAX_WORD_LENGTH) continue;
+                    out.writeByte(word.length());
+                    out.writeBytes(word);
+                }
+            }
+        }
+    }
+
+    public static Dictionary.DifficultyLevel classify(int length) {
+        if (length <= 4) return Dictionary.DifficultyLevel.EASY;
+        if (length <= 7) return Dictionary.DifficultyLevel.MEDIUM;
+        return Dictionary.DifficultyLevel.HARD;
+    }
+
+    private static boolean isBinary(FileChannel channel) throws IOException {
+        if (channel.size() < BINARY_MAGIC.length) return false;
+        ByteBuffer header = ByteBuffer.allocate(BINARY_MAGIC.length);
+        channel.read(header, 0);
+        for (int i = 0; i < BINARY_MAGIC.length; i++) {
+            if (header.get(i) != BINARY_MAGIC[i]) return false;
+        }
+        return true;
+    }
+
+    private abstract static class Decoder {
+        final WordStore.Builder builder;
+        final LoadReport report;
+        final char[] letters = new char[MAX_WORD_LENGTH];
+        int length;
+        // The current word has a byte that is not a letter
+        boolean invalid;
+
+        Decoder(WordStore.Builder builder, LoadReport report) {
+            this.builder = builder;
+            this.report = report;
+        }
+
+        abstract long headerLength();
+        abstract void accept(byte b) throws IOException;
+        abstract void finish() throws IOException;
+
+        // Appends a letter, lower-cased, or marks the word invalid
+        void append(byte b) {
+            char c = (char) (b & 0xFF);
+            if (c >= 'A' && c <= 'Z') {
+                c = (char) (c + ('a' - 'A'));
+            }
+            if (c < 'a' || c > 'z' || length == MAX_WORD_LENGTH) {
+                invalid = true;
+            } else {
+                letters[length++] = c;
+            }
+        }
+
+        void emit(Dictionary.DifficultyLevel level) {
+            // Words the store already holds are not counted as loaded
+            if (builder.add(letters, length, level)) {
+                report.loadedPerLevel[level.ordinal()]++;
+            } else {
+                report.duplicates++;
+            }
+        }
+    }
+
+    private static class TextDecoder extends Decoder {
+        private boolean comment;
+        private boolean lineStart = true;
+        // Whitespace after the first letter; only fine if nothing follows
+        private boolean spaceSeen;
+
+        TextDecoder(WordStore.Builder builder, LoadReport report) {
+            super(builder, report);
+        }
+
+        @Override
+        long headerLength() {
+            return 0;
+        }
+
+        @Override
+        void accept(byte b) {
+            if (b == '\n') {
+                endLine();
+                return;
+            }
+            if (lineStart && b == '#') comment = true;
+            lineStart = false;
+            if (comment) return;
+            if (b == '\r' || b == ' ' || b == '\t') {
+                if (length > 0 || invalid) spaceSeen = true;
+                return;
+            }
+            // "ice cream" is two words, not "icecream"
+            if (spaceSeen) invalid = true;
+            append(b);
+        }
+
+        @Override
+        void finish() {
+            endLine();
+        }
+
+        private void endLine() {
+            if (!comment && (length > 0 || invalid)) {
+                if (invalid || length < 3) {
+                    report.skipped++;
+                } else {
+                    emit(classify(length));
+                }
+            }
+            length = 0;
+            comment = false;
+            invalid = false;
+            spaceSeen = false;
+            lineStart = true;
+        }
+    }
+
+    private static class BinaryDecoder extends Decoder {
+        private static final Dictionary.DifficultyLevel[] LEVELS = Dictionary.DifficultyLevel.values();
+        // Section header: level byte then a 4-byte count
+        private static final int HEADER_BYTES = 5;
+        private int headerRead;
+        private int level;
+        private int remaining;
+        private int expected = -1;
+        private int read;
+
+        BinaryDecoder(WordStore.Builder builder, LoadReport report) {
+            super(builder, report);
+        }
+
+        @Override
+        long headerLength() {
+            return BINARY_MAGIC.length;
+        }
+
+        @Override
+        void accept(byte b) throws IOException {
+            if (headerRead < HEADER_BYTES) {
+                readHeader(b & 0xFF);
+            } else if (expected < 0) {
+                expected = b & 0xFF;
+                length = 0;
+                read = 0;
+                invalid = false;
+                if (expected == 0) endRecord();
+            } else {
+                append(b);
+                if (++read == expected) endRecord();
+            }
+        }
+
+        private void readHeader(int value) throws IOException {
+            if (headerRead == 0) {
+                if (value >= LEVELS.length) {
+                    throw new IOException("Corrupt dictionary: bad level " + value);
+                }
+                level = value;
+                remaining = 0;
+            } else {
+                remaining = (remaining << 8) | value;
+            }
+            headerRead++;
+            if (headerRead == HEADER_BYTES && remaining == 0) {
+                headerRead = 0;
+            }
+        }
+
+        @Override
+        void finish() throws IOException {
+            if (headerRead != 0 || expected >= 0) {
+                throw new IOException("Corrupt dictionary: truncated section");
+            }
+        }
+
+        private void endRecord() {
+            if (length == 0 || invalid) {
+                report.skipped++;
+            } else {
+                emit(LEVELS[level]);
+            }
+            expected = -1;
+            if (--remaining == 0) {
+                headerRead = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package model;
+
+import java.util.*;
+
+/**
+ * Cached move distances from every cell of a grid to one target cell,
+ * computed with a single reverse BFS. Blocking a cell on a shortest path
+ * marks the field stale so it is recomputed on the next query; unblocking
+ * a cell can only shorten distances and is repaired in place.
+ */
+public class DistanceField implements GridChangeListener {
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private final Grid grid;
+    private final Cell target;
+    private final int[] distance;
+    private final int[] queue;
+    private boolean stale;
+
+    public DistanceField(Grid grid, Cell target) {
+        this.grid = grid;
+        this.target = target;
+        this.distance = new int[grid.getCellCount()];
+        this.queue = new int[grid.getCellCount()];
+        this.stale = true;
+    }
+
+    public Cell getTarget() {
+        return target;
+    }
+
+    /**
+     * Returns the number of moves needed to reach the target from cell, or
+     * {@link #UNREACHABLE}.
+     */
+    public int getDistance(Cell cell) {
+        ensureFresh();
+        return distance[grid.getCellId(cell)];
+    }
+
+    /**
+     * Returns a neighbor of cell that is one move closer to the target, or
+     * null if cell is the target or cannot reach it.
+     */
+    public Cell getNextStep(Cell cell) {
+        ensureFresh();
+        int id = grid.getCellId(cell);
+        int d = distance[id];
+        if (d == 0 || d == UNREACHABLE) return null;
+
+        for (int m = grid.getNeighborMask(id); m != 0; m &= m - 1) {
+            int next = grid.getNeighborId(id, Integer.numberOfTrailingZeros(m));
+            if (distance[next] == d - 1) {
+                return grid.getCellById(next);
+            }
+        }
+        return null;
+    }
+
+    public void invalidate() {
+        stale = true;
+    }
+
+    @Override
+    public void cellBlockChanged(Grid grid, Cell cell, boolean blocked) {
+        if (stale) return;
+        int id = grid.getCellId(cell);
+        if (blocked) {
+            // Only paths through the cell can get longer
+            if (distance[id] != UNREACHABLE) {
+                stale = true;
+            }
+        } else {
+            repairFrom(id);
+        }
+    }
+
+    private void ensureFresh() {
+        if (!stale) return;
+        Arrays.fill(distance, UNREACHABLE);
+        int targetId = grid.getCellId(target);
+        distance[targetId] = 0;
+        propagate(targetId);
+        stale = false;
+    }
+
+    private void repairFrom(int id) {
+        int best = UNREACHABLE;
+        for (int m = grid.getNeighborMask(id); m != 0; m &= m - 1) {
+            int neighbor = grid.getNeighborId(id, Integer.numberOfTrailingZeros(m));
+            if (distance[neighbor] != UNREACHABLE) {
+                best = Math.min(best, distance[neighbor] + 1);
+            }
+        }
+        if (best < distance[id]) {
+            distance[id] = best;
+            propagate(id);
+        }
+    }
+
+    /**
+     * Relaxes distances outward from a cell whose distance just decreased.
+     * Cells that can step into a non-blocked cell are exactly the cells in
+     * its neighbor mask, so the reverse search walks the same masks.
+     */
+    private void propagate(int sourceId) {
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = sourceId;
+        while (head != tail) {
+            int current = queue[head];
+            head = (head + 1) % queue.length;
+            int nextDistance = distance[current] + 1;
+            for (int m = grid.getNeighborMask(current); m != 0; m &= m - 1) {
+                int prev = grid.getNeighborId(current, Integer.numberOfTrailingZeros(m));
+                if (nextDistance < distance[prev]) {
+                    distance[prev] = nextDistance;
+                    queue[tail] = prev;
+                    tail = (tail + 1) % queue.length;
+                }
+            }
+        }
+    }
+}
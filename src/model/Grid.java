@@ -1,5 +1,6 @@
 package model;
 
+import java.io.*;
 import java.util.*;
 
 /**
@@ -9,25 +10,61 @@ public class Grid {
     private Cell[][] cells;
     private int rows;
     private int cols;
-    private Map<Cell, List<Cell>> graph;
+    // Packed adjacency: bit d of neighborMasks[id] is set when the cell at
+    // id + direction d is inside the grid and not blocked.
+    private byte[] neighborMasks;
     private Cell startCell;
     private Cell destinationCell;
     private Random random;
+    private long seed;
     private static final int MAX_PLACEMENT_ATTEMPTS = 100;
+    private static final int DEFAULT_PLACEMENT_BUDGET = 200000;
+    // Candidate words sampled per required word when placing from an index
+    private static final int CANDIDATES_PER_WORD = 8;
+
+    // Possible movements (including diagonals), indexed by direction
+    public static final int DIRECTIONS = 8;
+    private static final int[] ROW_OFFSETS = {-1, -1, -1, 0, 0, 1, 1, 1};
+    private static final int[] COL_OFFSETS = {-1, 0, 1, -1, 1, -1, 0, 1};
     private List<String> placedWords;
+    private List<WordPlacement> placements;
+    private int placementBudget;
+    private boolean placementBacktracking;
     private int requiredWords;
+    private List<GridChangeListener> listeners;
+    private PathFinder pathFinder;
+    private DistanceField destinationField;
 
     public Grid(int rows, int cols, int requiredWords) {
+        this(rows, cols, requiredWords, new Random().nextLong());
+    }
+
+    /**
+     * Creates a grid whose layout, word placement and later random blocking
+     * are fully determined by the seed.
+     */
+    public Grid(int rows, int cols, int requiredWords, long seed) {
+        this(rows, cols, requiredWords, seed, new Random(seed));
+        placeBlockedCells();
+        placeStartAndDestinationCells();
+        buildGraph();
+    }
+
+    // Sets up an empty grid; snapshots are restored on top of it
+    private Grid(int rows, int cols, int requiredWords, long seed, Random random) {
         this.rows = rows;
         this.cols = cols;
         this.cells = new Cell[rows][cols];
-        this.random = new Random();
+        this.seed = seed;
+        this.random = random;
         this.requiredWords = requiredWords;
         this.placedWords = new ArrayList<>();
+        this.placements = new ArrayList<>();
+        this.placementBudget = DEFAULT_PLACEMENT_BUDGET;
+        this.placementBacktracking = true;
+        this.listeners = new ArrayList<>();
+        this.pathFinder = PathAlgorithm.BFS.createPathFinder();
         initializeEmptyGrid();
-        placeBlockedCells();
-        placeStartAndDestinationCells();
-        buildGraph();
     }
 
     private void initializeEmptyGrid() {
@@ -83,37 +120,108 @@ public class Grid {
     }
 
     private void buildGraph() {
-        // Define possible movements (including diagonals)
-        int[] dx = {-1, -1, -1, 0, 0, 1, 1, 1};
-        int[] dy = {-1, 0, 1, -1, 1, -1, 0, 1};
-
-        graph = new HashMap<>();
-
+        neighborMasks = new byte[rows * cols];
         for (int i = 0; i < rows; i++) {
             for (int j = 0; j < cols; j++) {
-                Cell currentCell = cells[i][j];
-                List<Cell> neighbors = new ArrayList<>();
-
-                for (int k = 0; k < dx.length; k++) {
-                    int newRow = i + dx[k];
-                    int newCol = j + dy[k];
+                neighborMasks[i * cols + j] = (byte) computeNeighborMask(i, j);
+            }
+        }
+    }
 
-                    if (isValidPosition(newRow, newCol) && !cells[newRow][newCol].isBlocked()) {
-                        neighbors.add(cells[newRow][newCol]);
-                    }
-                }
+    private int computeNeighborMask(int row, int col) {
+        int mask = 0;
+        for (int d = 0; d < DIRECTIONS; d++) {
+            int newRow = row + ROW_OFFSETS[d];
+            int newCol = col + COL_OFFSETS[d];
 
-                graph.put(currentCell, neighbors);
+            if (isValidPosition(newRow, newCol) && !cells[newRow][newCol].isBlocked()) {
+                mask |= 1 << d;
             }
         }
+        return mask;
     }
 
     private boolean isValidPosition(int row, int col) {
         return row >= 0 && row < rows && col >= 0 && col < cols;
     }
 
+    /**
+     * Returns the neighbors of a cell as a new list. Kept for compatibility;
+     * hot paths should iterate {@link #getNeighborMask(int)} instead.
+     */
     public List<Cell> getNeighbors(Cell cell) {
-        return graph.getOrDefault(cell, new ArrayList<>());
+        if (cell == null || !isValidPosition(cell.getRow(), cell.getCol())) {
+            return new ArrayList<>();
+        }
+        int id = getCellId(cell);
+        int mask = getNeighborMask(id);
+        List<Cell> neighbors = new ArrayList<>(Integer.bitCount(mask));
+        for (int m = mask; m != 0; m &= m - 1) {
+            neighbors.add(getCellById(getNeighborId(id, Integer.numberOfTrailingZeros(m))));
+        }
+        return neighbors;
+    }
+
+    /**
+     * Returns the 8-bit direction mask of the non-blocked neighbors of a cell.
+     * Bit d is set when {@link #getNeighborId(int, int)} for direction d is a
+     * valid move target.
+     */
+    public int getNeighborMask(int cellId) {
+        return neighborMasks[cellId] & 0xFF;
+    }
+
+    /**
+     * Returns the id of the cell one step from cellId in the given direction.
+     * Only meaningful when the direction bit is set in the neighbor mask.
+     */
+    public int getNeighborId(int cellId, int direction) {
+        return cellId + ROW_OFFSETS[direction] * cols + COL_OFFSETS[direction];
+    }
+
+    /**
+     * Copies the neighbor ids of a cell into out (which must hold at least
+     * {@link #DIRECTIONS} entries) and returns how many were written.
+     */
+    public int getNeighborIds(int cellId, int[] out) {
+        int count = 0;
+        for (int m = getNeighborMask(cellId); m != 0; m &= m - 1) {
+            out[count++] = getNeighborId(cellId, Integer.numberOfTrailingZeros(m));
+        }
+        return count;
+    }
+
+    /**
+     * Returns true if to is a non-blocked cell adjacent to from.
+     */
+    public boolean areNeighbors(Cell from, Cell to) {
+        int dRow = to.getRow() - from.getRow();
+        int dCol = to.getCol() - from.getCol();
+        if (Math.abs(dRow) > 1 || Math.abs(dCol) > 1 || (dRow == 0 && dCol == 0)) {
+            return false;
+        }
+        return (getNeighborMask(getCellId(from)) & (1 << directionOf(dRow, dCol))) != 0;
+    }
+
+    private static int directionOf(int dRow, int dCol) {
+        for (int d = 0; d < DIRECTIONS; d++) {
+            if (ROW_OFFSETS[d] == dRow && COL_OFFSETS[d] == dCol) {
+                return d;
+            }
+        }
+        return -1;
+    }
+
+    public int getCellId(Cell cell) {
+        return cell.getRow() * cols + cell.getCol();
+    }
+
+    public Cell getCellById(int cellId) {
+        return cells[cellId / cols][cellId % cols];
+    }
+
+    public int getCellCount() {
+        return rows * cols;
     }
 
     public Cell getCell(int row, int col) {
@@ -129,6 +237,10 @@ public class Grid {
 
     public void setDestinationCell(Cell cell) {
         this.destinationCell = cell;
+        if (destinationField != null) {
+            removeGridChangeListener(destinationField);
+            destinationField = null;
+        }
     }
 
     public Cell getStartCell() {
@@ -139,6 +251,10 @@ public class Grid {
         return destinationCell;
     }
 
+    public long getSeed() {
+        return seed;
+    }
+
     public int getRows() {
         return rows;
     }
@@ -148,23 +264,75 @@ public class Grid {
     }
 
     public void addBlockedCells(int count) {
-        Random random = new Random();
         int added = 0;
         while (added < count) {
             int row = random.nextInt(rows);
             int col = random.nextInt(cols);
             Cell cell = cells[row][col];
             if (!cell.isBlocked() && cell != startCell && cell != destinationCell) {
-                cell.setBlocked(true);
+                blockCell(cell);
                 added++;
             }
         }
-        // Rebuild graph to account for new blocked cells
-        buildGraph();
+    }
+
+    /**
+     * Blocks a cell, updating only the adjacency of its surrounding cells.
+     * Returns false if the cell was already blocked.
+     */
+    public boolean blockCell(Cell cell) {
+        if (cell.isBlocked()) return false;
+        cell.setBlocked(true);
+        updateIncomingEdges(cell, false);
+        fireCellBlockChanged(cell, true);
+        return true;
+    }
+
+    /**
+     * Unblocks a cell, updating only the adjacency of its surrounding cells.
+     * Returns false if the cell was not blocked.
+     */
+    public boolean unblockCell(Cell cell) {
+        if (!cell.isBlocked()) return false;
+        cell.setBlocked(false);
+        updateIncomingEdges(cell, true);
+        fireCellBlockChanged(cell, false);
+        return true;
+    }
+
+    private void updateIncomingEdges(Cell cell, boolean connected) {
+        int id = getCellId(cell);
+        for (int d = 0; d < DIRECTIONS; d++) {
+            int newRow = cell.getRow() + ROW_OFFSETS[d];
+            int newCol = cell.getCol() + COL_OFFSETS[d];
+            if (!isValidPosition(newRow, newCol)) continue;
+
+            // The neighbor reaches this cell through the opposite direction
+            int neighborId = getNeighborId(id, d);
+            int bit = 1 << (DIRECTIONS - 1 - d);
+            if (connected) {
+                neighborMasks[neighborId] |= bit;
+            } else {
+                neighborMasks[neighborId] &= ~bit;
+            }
+        }
+    }
+
+    public void addGridChangeListener(GridChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeGridChangeListener(GridChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void fireCellBlockChanged(Cell cell, boolean blocked) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).cellBlockChanged(this, cell, blocked);
+        }
     }
 
     public void addSpecialCells(int count) {
-        Random random = new Random();
         int added = 0;
         while (added < count) {
             int row = random.nextInt(rows);
@@ -179,122 +347,97 @@ public class Grid {
 
     public List<Cell> findShortestPath(Cell start, Cell end) {
         if (start == null || end == null) return null;
+        return pathFinder.findPath(this, start, end);
+    }
 
-        Map<Cell, Cell> parentMap = new HashMap<>();
-        Map<Cell, Integer> distanceMap = new HashMap<>();
-        PriorityQueue<Cell> queue = new PriorityQueue<>(
-            (a, b) -> distanceMap.get(a) - distanceMap.get(b));
-
-        // Initialize distances
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                distanceMap.put(cells[i][j], Integer.MAX_VALUE);
-            }
-        }
+    /**
+     * Selects one of the built-in path finding engines for this grid.
+     */
+    public void setPathAlgorithm(PathAlgorithm algorithm) {
+        this.pathFinder = algorithm.createPathFinder();
+    }
 
-        distanceMap.put(start, 0);
-        queue.offer(start);
+    public void setPathFinder(PathFinder pathFinder) {
+        this.pathFinder = pathFinder;
+    }
 
-        while (!queue.isEmpty()) {
-            Cell current = queue.poll();
-            if (current.equals(end)) break;
+    public PathFinder getPathFinder() {
+        return pathFinder;
+    }
 
-            for (Cell neighbor : getNeighbors(current)) {
-                int newDist = distanceMap.get(current) + 1;
-                if (newDist < distanceMap.get(neighbor)) {
-                    distanceMap.put(neighbor, newDist);
-                    parentMap.put(neighbor, current);
-                    queue.offer(neighbor);
-                }
-            }
+    /**
+     * Returns the cached distance field towards the destination cell. It is
+     * kept up to date as cells are blocked or unblocked.
+     */
+    public DistanceField getDestinationField() {
+        if (destinationField == null && destinationCell != null) {
+            destinationField = new DistanceField(this, destinationCell);
+            addGridChangeListener(destinationField);
         }
+        return destinationField;
+    }
 
-        // Reconstruct path
-        List<Cell> path = new ArrayList<>();
-        Cell current = end;
-        while (current != null) {
-            path.add(0, current);
-            current = parentMap.get(current);
-        }
+    /**
+     * Returns the number of moves from cell to the destination, or
+     * {@link DistanceField#UNREACHABLE}.
+     */
+    public int getDistanceToDestination(Cell cell) {
+        DistanceField field = getDestinationField();
+        return field == null ? DistanceField.UNREACHABLE : field.getDistance(cell);
+    }
 
-        return path.get(0).equals(start) ? path : null;
+    /**
+     * Returns the neighbor of cell that lies on a shortest path to the
+     * destination, or null if there is none.
+     */
+    public Cell getNextStepToDestination(Cell cell) {
+        DistanceField field = getDestinationField();
+        return field == null ? null : field.getNextStep(cell);
     }
 
     public void initializeGrid(Set<String> dictionary) {
-        // Convert dictionary to list and sort by length (longer words first)
-        List<String> wordList = new ArrayList<>(dictionary);
-        Collections.sort(wordList, (a, b) -> b.length() - a.length());
-
-        // Define all possible directions for word placement
-        int[][] directions = {
-            {0, 1},   // right
-            {1, 0},   // down
-            {1, 1},   // diagonal down-right
-            {1, -1},  // diagonal down-left
-            {-1, 1},  // diagonal up-right
-            {-1, -1}, // diagonal up-left
-            {-1, 0},  // up
-            {0, -1}   // left
-        };
+        // Randomize word selection
+        List<String> availableWords = new ArrayList<>(dictionary);
+        Collections.shuffle(availableWords, random);
 
+        placeWords(availableWords);
+    }
+
+    /**
+     * Fills the grid from a word index, sampling only words that can fit
+     * instead of copying and shuffling the whole dictionary.
+     */
+    public void initializeGrid(WordIndex words) {
+        int maxLength = Math.max(rows, cols);
+        int candidates = requiredWords * CANDIDATES_PER_WORD;
+        placeWords(words.sample(1, maxLength, candidates, random));
+    }
+
+    private void placeWords(List<String> candidates) {
         // Try to place exactly the required number of words
-        int wordsPlaced = 0;
-        List<String> availableWords = new ArrayList<>(wordList);
-        Collections.shuffle(availableWords); // Randomize word selection
-
-        while (wordsPlaced < requiredWords && !availableWords.isEmpty()) {
-            String word = availableWords.remove(0);
-            if (word.length() <= Math.min(rows, cols)) {
-                boolean placed = false;
-                for (int attempt = 0; attempt < MAX_PLACEMENT_ATTEMPTS && !placed; attempt++) {
-                    int startRow = random.nextInt(rows);
-                    int startCol = random.nextInt(cols);
-                    int[] direction = directions[random.nextInt(directions.length)];
-
-                    if (canPlaceWord(word, startRow, startCol, direction[0], direction[1])) {
-                        placeWord(word, startRow, startCol, direction[0], direction[1]);
-                        placedWords.add(word);
-                        wordsPlaced++;
-                        placed = true;
-                    }
-                }
-            }
+        WordPlacer placer = new WordPlacer(this, random, MAX_PLACEMENT_ATTEMPTS);
+        placements = placer.place(candidates, requiredWords, placementBudget, placementBacktracking);
+        for (WordPlacement placement : placements) {
+            placedWords.add(placement.getWord());
         }
 
         // Fill remaining cells with random letters
         fillRemainingCells();
     }
 
-    private boolean canPlaceWord(String word, int startRow, int startCol, int dRow, int dCol) {
-        int endRow = startRow + (word.length() - 1) * dRow;
-        int endCol = startCol + (word.length() - 1) * dCol;
-
-        // Check if word fits within grid bounds
-        if (endRow < 0 || endRow >= rows || endCol < 0 || endCol >= cols) {
-            return false;
-        }
-
-        // Check if path crosses any blocked cells or destination cell
-        for (int i = 0; i < word.length(); i++) {
-            int r = startRow + i * dRow;
-            int c = startCol + i * dCol;
-            Cell cell = cells[r][c];
-            
-            if (cell.isBlocked() || cell == destinationCell || 
-                (cell.getLetter() != ' ' && cell.getLetter() != word.charAt(i))) {
-                return false;
-            }
-        }
-
-        return true;
+    /**
+     * Sets the maximum number of slot checks word placement may spend.
+     */
+    public void setPlacementBudget(int placementBudget) {
+        this.placementBudget = placementBudget;
     }
 
-    private void placeWord(String word, int startRow, int startCol, int dRow, int dCol) {
-        for (int i = 0; i < word.length(); i++) {
-            int r = startRow + i * dRow;
-            int c = startCol + i * dCol;
-            cells[r][c].setLetter(word.charAt(i));
-        }
+    /**
+     * Enables or disables backtracking when a greedy placement pass places
+     * fewer than the required number of words.
+     */
+    public void setPlacementBacktracking(boolean placementBacktracking) {
+        this.placementBacktracking = placementBacktracking;
     }
 
     private void fillRemainingCells() {
@@ -313,6 +456,98 @@ public class Grid {
         return new ArrayList<>(placedWords);
     }
 
+    public List<WordPlacement> getPlacements() {
+        return new ArrayList<>(placements);
+    }
+
+    /**
+     * Writes the grid in a compact binary form: letters as one Latin-1 byte
+     * per cell, the blocked, special and used flags as bit sets, and word
+     * placements as start and direction.
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        int count = getCellCount();
+        out.writeInt(rows);
+        out.writeInt(cols);
+        out.writeInt(requiredWords);
+        out.writeLong(seed);
+        out.writeInt(startCell == null ? -1 : getCellId(startCell));
+        out.writeInt(destinationCell == null ? -1 : getCellId(destinationCell));
+
+        byte[] letters = new byte[count];
+        long[] blocked = new long[(count + 63) >>> 6];
+        long[] special = new long[blocked.length];
+        long[] used = new long[blocked.length];
+        for (int id = 0; id < count; id++) {
+            Cell cell = getCellById(id);
+            letters[id] = (byte) cell.getLetter();
+            if (cell.isBlocked()) blocked[id >>> 6] |= 1L << id;
+            if (cell.isSpecial()) special[id >>> 6] |= 1L << id;
+            if (cell.isUsed()) used[id >>> 6] |= 1L << id;
+        }
+        out.write(letters);
+        for (int i = 0; i < blocked.length; i++) {
+            out.writeLong(blocked[i]);
+            out.writeLong(special[i]);
+            out.writeLong(used[i]);
+        }
+
+        out.writeInt(placements.size());
+        for (WordPlacement placement : placements) {
+            out.writeUTF(placement.getWord());
+            out.writeInt(placement.getRow() * cols + placement.getCol());
+            out.writeByte(placement.getDRow());
+            out.writeByte(placement.getDCol());
+        }
+    }
+
+    /**
+     * Restores a grid written by {@link #writeTo(DataOutput)}. The random
+     * generator restarts from the seed, so later random blocking does not
+     * continue the original sequence.
+     */
+    public static Grid readFrom(DataInput in) throws IOException {
+        int rows = in.readInt();
+        int cols = in.readInt();
+        int requiredWords = in.readInt();
+        long seed = in.readLong();
+        Grid grid = new Grid(rows, cols, requiredWords, seed, new Random(seed));
+        int startId = in.readInt();
+        int destinationId = in.readInt();
+
+        int count = grid.getCellCount();
+        byte[] letters = new byte[count];
+        in.readFully(letters);
+        long[] blocked = new long[(count + 63) >>> 6];
+        long[] special = new long[blocked.length];
+        long[] used = new long[blocked.length];
+        for (int i = 0; i < blocked.length; i++) {
+            blocked[i] = in.readLong();
+            special[i] = in.readLong();
+            used[i] = in.readLong();
+        }
+        for (int id = 0; id < count; id++) {
+            Cell cell = grid.getCellById(id);
+            cell.setLetter((char) (letters[id] & 0xFF));
+            cell.setBlocked((blocked[id >>> 6] & (1L << id)) != 0);
+            cell.setSpecial((special[id >>> 6] & (1L << id)) != 0);
+            cell.setUsed((used[id >>> 6] & (1L << id)) != 0);
+        }
+        grid.startCell = startId < 0 ? null : grid.getCellById(startId);
+        grid.destinationCell = destinationId < 0 ? null : grid.getCellById(destinationId);
+
+        int placementCount = in.readInt();
+        for (int i = 0; i < placementCount; i++) {
+            String word = in.readUTF();
+            int id = in.readInt();
+            WordPlacement placement = new WordPlacement(word, id / cols, id % cols, in.readByte(), in.readByte());
+            grid.placements.add(placement);
+            grid.placedWords.add(word);
+        }
+        grid.buildGraph();
+        return grid;
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
@@ -0,0 +1,12 @@
+package model;
+
+/**
+ * Receives notifications when the topology of a grid changes.
+ */
+public interface GridChangeListener {
+    /**
+     * Called after a cell has been blocked or unblocked. Only the cell itself
+     * and its eight surrounding cells can have changed adjacency.
+     */
+    void cellBlockChanged(Grid grid, Cell cell, boolean blocked);
+}
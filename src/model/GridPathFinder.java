@@ -0,0 +1,61 @@
+package model;
+
+import java.util.*;
+
+/**
+ * Base class for path finders working on cell ids. Visited marks use a
+ * generation stamp so the buffers never need clearing between searches.
+ */
+abstract class GridPathFinder implements PathFinder {
+    protected int[] parent = new int[0];
+    protected int[] visited = new int[0];
+    protected int[] queue = new int[0];
+    protected int stamp;
+
+    @Override
+    public List<Cell> findPath(Grid grid, Cell start, Cell end) {
+        if (start == null || end == null) return null;
+
+        int startId = grid.getCellId(start);
+        int endId = grid.getCellId(end);
+        if (startId == endId) {
+            List<Cell> path = new ArrayList<>(1);
+            path.add(start);
+            return path;
+        }
+        // Blocked cells are never reachable as a move target
+        if (end.isBlocked()) return null;
+
+        prepare(grid.getCellCount());
+        return search(grid, startId, endId) ? buildPath(grid, startId, endId) : null;
+    }
+
+    /**
+     * Runs the search, filling parent links from endId back to startId.
+     * Returns false if endId is unreachable.
+     */
+    protected abstract boolean search(Grid grid, int startId, int endId);
+
+    protected void prepare(int cellCount) {
+        if (visited.length < cellCount) {
+            parent = new int[cellCount];
+            visited = new int[cellCount];
+            queue = new int[cellCount];
+            stamp = 0;
+        }
+        if (++stamp == Integer.MAX_VALUE) {
+            Arrays.fill(visited, 0);
+            stamp = 1;
+        }
+    }
+
+    protected List<Cell> buildPath(Grid grid, int startId, int endId) {
+        List<Cell> path = new ArrayList<>();
+        for (int id = endId; id != startId; id = parent[id]) {
+            path.add(grid.getCellById(id));
+        }
+        path.add(grid.getCellById(startId));
+        Collections.reverse(path);
+        return path;
+    }
+}
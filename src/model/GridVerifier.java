@@ -0,0 +1,95 @@
+package model;
+
+import java.util.*;
+
+/**
+ * Checks that a generated grid can actually be won: the destination and
+ * every placed word must be reachable from the start cell, enough words
+ * must be placed, and the moves budget must cover the shortest words.
+ */
+public class GridVerifier {
+
+    /**
+     * The outcome of verifying one grid.
+     */
+    public static class Result {
+        private final List<String> problems;
+        private final int reachableWords;
+        private final int minimumMoves;
+
+        Result(List<String> problems, int reachableWords, int minimumMoves) {
+            this.problems = problems;
+            this.reachableWords = reachableWords;
+            this.minimumMoves = minimumMoves;
+        }
+
+        public boolean isSolvable() { return problems.isEmpty(); }
+        public List<String> getProblems() { return Collections.unmodifiableList(problems); }
+        public int getReachableWords() { return reachableWords; }
+
+        /**
+         * Returns the fewest moves needed to trace the required words, or -1
+         * if not enough words can be traced.
+         */
+        public int getMinimumMoves() { return minimumMoves; }
+
+        @Override
+        public String toString() {
+            return isSolvable() ? "solvable in " + minimumMoves + " moves" : problems.toString();
+        }
+    }
+
+    public static Result verify(Grid grid, int requiredWords, int movesLeft) {
+        List<String> problems = new ArrayList<>();
+        Cell start = grid.getStartCell();
+        Cell destination = grid.getDestinationCell();
+
+        // Moves are symmetric between non-blocked cells, so distances to the
+        // start are also distances from it
+        DistanceField fromStart = new DistanceField(grid, start);
+        if (destination == null || fromStart.getDistance(destination) == DistanceField.UNREACHABLE) {
+            problems.add("destination is not reachable from the start cell");
+        }
+
+        List<Integer> wordLengths = new ArrayList<>();
+        for (WordPlacement placement : grid.getPlacements()) {
+            if (isTraceable(grid, placement)
+                    && fromStart.getDistance(grid.getCell(placement.getRow(), placement.getCol())) != DistanceField.UNREACHABLE) {
+                wordLengths.add(placement.getLength());
+            }
+        }
+
+        int minimumMoves = -1;
+        if (wordLengths.size() < requiredWords) {
+            problems.add(String.format("only %d of %d required words can be traced",
+                wordLengths.size(), requiredWords));
+        } else {
+            // Each letter of a word costs one move
+            Collections.sort(wordLengths);
+            minimumMoves = 0;
+            for (int i = 0; i < requiredWords; i++) {
+                minimumMoves += wordLengths.get(i);
+            }
+            if (minimumMoves > movesLeft) {
+                problems.add(String.format("required words need %d moves but only %d are allowed",
+                    minimumMoves, movesLeft));
+            }
+        }
+
+        return new Result(problems, wordLengths.size(), minimumMoves);
+    }
+
+    /**
+     * Returns true if the word is still spelled out along its placement,
+     * with no cell blocked since it was written.
+     */
+    private static boolean isTraceable(Grid grid, WordPlacement placement) {
+        for (int i = 0; i < placement.getLength(); i++) {
+            Cell cell = grid.getCell(placement.getRowAt(i), placement.getColAt(i));
+            if (cell.isBlocked() || Character.toLowerCase(cell.getLetter()) != placement.getWord().charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -2,22 +2,45 @@ package model;
 
 import java.io.*;
 import java.util.*;
+import model.Dictionary.DifficultyLevel;
 
 public class HighScore implements Serializable {
+    // Pinned to the value computed for the original class so that legacy
+    // highscores.dat files still deserialize
+    private static final long serialVersionUID = 1971745845838362702L;
+
     private String playerName;
     private int score;
     private Date date;
+    // Board the score was achieved on; null level and 0x0 for legacy scores
+    private DifficultyLevel level;
+    private int rows;
+    private int cols;
 
     public HighScore(String playerName, int score) {
+        this(playerName, score, null, 0, 0, new Date());
+    }
+
+    public HighScore(String playerName, int score, DifficultyLevel level, int rows, int cols) {
+        this(playerName, score, level, rows, cols, new Date());
+    }
+
+    public HighScore(String playerName, int score, DifficultyLevel level, int rows, int cols, Date date) {
         this.playerName = playerName;
         this.score = score;
-        this.date = new Date();
+        this.level = level;
+        this.rows = rows;
+        this.cols = cols;
+        this.date = date;
     }
 
     public String getPlayerName() { return playerName; }
     public String getName() { return playerName; }
     public int getScore() { return score; }
     public Date getDate() { return date; }
+    public DifficultyLevel getLevel() { return level; }
+    public int getRows() { return rows; }
+    public int getCols() { return cols; }
 
     @Override
     public String toString() {
@@ -1,40 +1,176 @@
 package model;
 
 import java.io.*;
+import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import model.Dictionary.DifficultyLevel;
 
+/**
+ * Keeps the best scores of every board (difficulty and grid size) in a
+ * concurrent {@link Leaderboard} and records new scores in an append-only
+ * {@link HighScoreStore}. Safe to share between game sessions. In the
+ * default write-behind mode scores are queued on submission and group
+ * committed by a {@link ScoreWriter}, so callers never wait on the disk;
+ * queued scores are flushed on close and by a shutdown hook. Scores from the old serialized
+ * highscores.dat are imported once. The methods without a board use the
+ * board of scores that have none, which is where legacy scores end up.
+ */
 public class HighScoreManager {
+    public enum PersistenceMode {
+        // Append and force every score on the caller's thread
+        SYNC,
+        // Queue scores and group commit them on a background thread
+        WRITE_BEHIND
+    }
+
     private static final String SCORES_FILE = "highscores.dat";
-    private List<HighScore> highScores;
-    private static final int MAX_HIGH_SCORES = 3;
+    private static final String SCORES_LOG = "highscores.log";
+    // Scores kept per board
+    public static final int MAX_HIGH_SCORES = 10000;
+    // Scores shown in the high score text
+    public static final int DISPLAYED_SCORES = 10;
+    // Group commit thresholds: whichever is reached first
+    private static final int FLUSH_BATCH_SIZE = 256;
+    private static final long FLUSH_DELAY_MS = 1000;
+    // Compact once the log holds this many times the live scores
+    private static final int COMPACTION_FACTOR = 2;
+    private static final int MIN_COMPACTION_RECORDS = 1024;
+
+    private final Leaderboard leaderboard = new Leaderboard(MAX_HIGH_SCORES, DISPLAYED_SCORES);
+    // Guards the store; only held while writing, never by readers
+    private final Object storeLock = new Object();
+    private HighScoreStore store;
+    // Kept scores not yet appended to the log; compaction leaves them out so
+    // their later append does not record them twice
+    private final Set<HighScore> unsaved = ConcurrentHashMap.newKeySet();
+    private final PersistenceMode mode;
+    // Only in write-behind mode
+    private final ScoreWriter writer;
+    private final Thread shutdownHook;
+    private final AtomicBoolean closed = new AtomicBoolean();
 
     public HighScoreManager() {
-        highScores = new ArrayList<>();
-        loadHighScores();
+        this(Paths.get(SCORES_LOG), Paths.get(SCORES_FILE));
+    }
+
+    /**
+     * Uses the given score log, importing the legacy serialized file if the
+     * log does not exist yet.
+     */
+    public HighScoreManager(Path logFile, Path legacyFile) {
+        this(logFile, legacyFile, PersistenceMode.WRITE_BEHIND);
+    }
+
+    public HighScoreManager(Path logFile, Path legacyFile, PersistenceMode mode) {
+        this.mode = mode;
+        loadHighScores(logFile, legacyFile);
+        if (mode == PersistenceMode.WRITE_BEHIND) {
+            writer = new ScoreWriter(this::writeBatch, this::isStillKept, FLUSH_BATCH_SIZE, FLUSH_DELAY_MS);
+            // Queued scores must survive a normal JVM exit
+            shutdownHook = new Thread(this::close, "high-score-shutdown");
+            Runtime.getRuntime().addShutdownHook(shutdownHook);
+        } else {
+            writer = null;
+            shutdownHook = null;
+        }
+    }
+
+    public PersistenceMode getPersistenceMode() {
+        return mode;
+    }
+
+    /**
+     * Returns the queued, flushed and coalesced counts and flush latency;
+     * all zero in sync mode.
+     */
+    public ScoreWriter.Stats getWriterStats() {
+        return writer != null ? writer.getStats() : new ScoreWriter.Stats(0, 0, 0, 0, 0, 0, 0);
+    }
+
+    public Leaderboard getLeaderboard() {
+        return leaderboard;
     }
 
     public boolean isHighScore(int score) {
-        if (highScores.size() < MAX_HIGH_SCORES) return true;
-        return score > highScores.get(highScores.size() - 1).getScore();
+        return isHighScore(score, null, 0, 0);
     }
 
-    public void addScore(String playerName, int score) {
-        highScores.add(new HighScore(playerName, score));
-        Collections.sort(highScores, (a, b) -> b.getScore() - a.getScore());
-        
-        if (highScores.size() > MAX_HIGH_SCORES) {
-            highScores = highScores.subList(0, MAX_HIGH_SCORES);
+    /**
+     * Returns true if the score would make the displayed top list of its board.
+     */
+    public boolean isHighScore(int score, DifficultyLevel level, int rows, int cols) {
+        return leaderboard.isTopScore(score, level, rows, cols);
+    }
+
+    public int addScore(String playerName, int score) {
+        return addScore(new HighScore(playerName, score));
+    }
+
+    public int addScore(String playerName, int score, DifficultyLevel level, int rows, int cols) {
+        return addScore(new HighScore(playerName, score, level, rows, cols));
+    }
+
+    /**
+     * Records a score and returns its 1-based rank on its board, or 0 if it
+     * did not make the kept scores. In write-behind mode the score reaches
+     * the disk with the next group commit.
+     */
+    public int addScore(HighScore score) {
+        // Marked before it becomes visible to a compaction
+        unsaved.add(score);
+        int rank = leaderboard.submit(score);
+        if (rank == 0) {
+            unsaved.remove(score);
+        } else {
+            if (mode == PersistenceMode.WRITE_BEHIND) {
+                writer.submit(score);
+            } else {
+                saveHighScores(Collections.singletonList(score));
+            }
         }
-        
-        saveHighScores();
+        return rank;
+    }
+
+    /**
+     * Returns the rank a score would get on its board, or 0 if it would not
+     * be kept.
+     */
+    public int getRank(int score, DifficultyLevel level, int rows, int cols) {
+        return leaderboard.getRank(score, level, rows, cols);
+    }
+
+    /**
+     * Returns the rank of a player's best score on a board, or 0 if none.
+     */
+    public int getPlayerRank(String playerName, DifficultyLevel level, int rows, int cols) {
+        return leaderboard.getPlayerRank(playerName, level, rows, cols);
+    }
+
+    public HighScore getBestScore(String playerName, DifficultyLevel level, int rows, int cols) {
+        return leaderboard.getBestScore(playerName, level, rows, cols);
     }
 
     public List<HighScore> getHighScores() {
-        return new ArrayList<>(highScores);
+        return getHighScores(null, 0, 0);
+    }
+
+    public List<HighScore> getHighScores(DifficultyLevel level, int rows, int cols) {
+        return leaderboard.getTop(level, rows, cols);
+    }
+
+    public List<HighScore> getHighScores(DifficultyLevel level, int rows, int cols, int count) {
+        return leaderboard.getTop(level, rows, cols, count);
     }
 
     public String getHighScoresText() {
+        return getHighScoresText(null, 0, 0);
+    }
+
+    public String getHighScoresText(DifficultyLevel level, int rows, int cols) {
         StringBuilder sb = new StringBuilder();
+        List<HighScore> highScores = getHighScores(level, rows, cols);
         for (int i = 0; i < highScores.size(); i++) {
             HighScore score = highScores.get(i);
             sb.append(String.format("%d. %s: %d\n", i + 1, score.getName(), score.getScore()));
@@ -42,17 +178,112 @@ public class HighScoreManager {
         return sb.toString();
     }
 
-    private void loadHighScores() {
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(SCORES_FILE))) {
-            highScores = (List<HighScore>) ois.readObject();
+    /**
+     * Blocks until every score added so far is on disk. Sync mode writes
+     * each score as it is added, so there is nothing to wait for.
+     */
+    public void flush() {
+        if (writer != null) writer.flush();
+    }
+
+    /**
+     * Writes any queued scores and closes the score log.
+     */
+    public void close() {
+        if (!closed.compareAndSet(false, true)) return;
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (UncheckedIOException e) {
+                e.printStackTrace();
+            }
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // Already shutting down; this may be the hook itself
+            }
+        }
+        synchronized (storeLock) {
+            if (store == null) return;
+            try {
+                store.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            store = null;
+        }
+    }
+
+    private void writeBatch(List<HighScore> batch) throws IOException {
+        synchronized (storeLock) {
+            if (store == null) {
+                // Memory only; nothing will ever be appended
+                unsaved.removeAll(batch);
+                return;
+            }
+            store.append(batch);
+            unsaved.removeAll(batch);
+            if (store.getRecordCount() >= MIN_COMPACTION_RECORDS
+                    && store.getRecordCount() > COMPACTION_FACTOR * leaderboard.size()) {
+                compact();
+            }
+        }
+    }
+
+    // A score pushed out before it was written needs no saving
+    private boolean isStillKept(HighScore score) {
+        if (leaderboard.isKept(score)) return true;
+        unsaved.remove(score);
+        return false;
+    }
+
+    private void saveHighScores(List<HighScore> batch) {
+        try {
+            writeBatch(batch);
+        } catch (IOException e) {
+            // Not retried, so let the next compaction save it
+            unsaved.removeAll(batch);
+            e.printStackTrace();
+        }
+    }
+
+    private void loadHighScores(Path logFile, Path legacyFile) {
+        boolean importLegacy = !Files.exists(logFile) && legacyFile != null && Files.exists(legacyFile);
+        List<HighScore> loaded = new ArrayList<>();
+        try {
+            store = HighScoreStore.open(logFile, loaded);
+        } catch (IOException e) {
+            // Keep scores in memory only
+            e.printStackTrace();
+        }
+        for (HighScore score : loaded) {
+            leaderboard.submit(score);
+        }
+        if (importLegacy) {
+            importLegacyScores(legacyFile);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void importLegacyScores(Path legacyFile) {
+        List<HighScore> legacy;
+        try (ObjectInputStream ois = new ObjectInputStream(Files.newInputStream(legacyFile))) {
+            legacy = (List<HighScore>) ois.readObject();
         } catch (Exception e) {
-            highScores = new ArrayList<>();
+            return;
+        }
+        for (HighScore score : legacy) {
+            leaderboard.submit(score);
         }
+        compact();
     }
 
-    private void saveHighScores() {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(SCORES_FILE))) {
-            oos.writeObject(highScores);
+    private void compact() {
+        if (store == null) return;
+        try {
+            List<HighScore> saved = leaderboard.getAllScores();
+            saved.removeAll(unsaved);
+            store.compact(saved);
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -0,0 +1,185 @@
+package model;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.zip.CRC32;
+import model.Dictionary.DifficultyLevel;
+
+/**
+ * Append-only file of high score records. Each record carries its own
+ * length and CRC, so a write torn by a crash is detected on the next open
+ * and cut off, leaving every earlier record intact. {@link #compact}
+ * rewrites the file to just the scores still worth keeping, through a
+ * temporary file that atomically replaces the old one.
+ *
+ * Layout: magic "WLH1", then records of
+ * [int length][level byte][short rows][short cols][int score][long time]
+ * [short name length][UTF-8 name][int crc of the bytes after length].
+ */
+public class HighScoreStore implements Closeable {
+    private static final int MAGIC = 0x574C4831;
+    private static final DifficultyLevel[] LEVELS = DifficultyLevel.values();
+    private static final int MAX_RECORD_LENGTH = 1 << 16;
+
+    private final Path file;
+    private FileChannel channel;
+    private int recordCount;
+
+    private HighScoreStore(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Opens or creates the store and passes every intact record to loaded,
+     * in the order they were appended.
+     */
+    public static HighScoreStore open(Path file, List<HighScore> loaded) throws IOException {
+        HighScoreStore store = new HighScoreStore(file);
+        store.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        store.load(loaded);
+        return store;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Returns the number of records in the file, including superseded ones.
+     */
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    private void load(List<HighScore> loaded) throws IOException {
+        long fileSize = channel.size();
+        if (fileSize < 4) {
+            // New or torn before the header was complete
+            channel.truncate(0);
+            ByteBuffer header = ByteBuffer.allocate(4).putInt(0, MAGIC);
+            channel.write(header, 0);
+            channel.force(true);
+            return;
+        }
+
+        ByteBuffer data = ByteBuffer.allocate((int) fileSize);
+        while (data.hasRemaining() && channel.read(data, data.position()) >= 0) { }
+        data.flip();
+        if (data.getInt() != MAGIC) {
+            throw new IOException("Not a high score file: " + file);
+        }
+
+        long validEnd = data.position();
+        CRC32 crc = new CRC32();
+        while (data.remaining() >= 4) {
+            int length = data.getInt();
+            if (length <= 0 || length > MAX_RECORD_LENGTH || data.remaining() < length + 4) break;
+            int start = data.position();
+            crc.reset();
+            crc.update(data.array(), start, length);
+            if ((int) crc.getValue() != data.getInt(start + length)) break;
+
+            loaded.add(decode(data));
+            data.position(start + length + 4);
+            validEnd = data.position();
+            recordCount++;
+        }
+
+        if (validEnd < fileSize) {
+            // Drop a torn or corrupt tail so new records follow intact ones
+            channel.truncate(validEnd);
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Appends one score and forces it to disk.
+     */
+    public void append(HighScore score) throws IOException {
+        append(Collections.singletonList(score));
+    }
+
+    /**
+     * Appends several scores with a single write and a single force.
+     */
+    public void append(Collection<HighScore> scores) throws IOException {
+        if (scores.isEmpty()) return;
+        ByteBuffer buffer = encode(scores);
+        long position = channel.size();
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+        channel.force(false);
+        recordCount += scores.size();
+    }
+
+    /**
+     * Replaces the file with one holding only the given scores. The new
+     * file is fully written and forced before it is moved over the old one,
+     * so a crash leaves either the old or the new file, never a mix.
+     */
+    public void compact(Collection<HighScore> scores) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(4).putInt(0, MAGIC);
+            out.write(header);
+            ByteBuffer buffer = encode(scores);
+            while (buffer.hasRemaining()) out.write(buffer);
+            out.force(true);
+        }
+        channel.close();
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+        recordCount = scores.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static ByteBuffer encode(Collection<HighScore> scores) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(scores.size() * 48);
+        CRC32 crc = new CRC32();
+        for (HighScore score : scores) {
+            byte[] name = score.getPlayerName().getBytes(StandardCharsets.UTF_8);
+            int nameLength = Math.min(name.length, Short.MAX_VALUE);
+            int length = 1 + 2 + 2 + 4 + 8 + 2 + nameLength;
+            ByteBuffer record = ByteBuffer.allocate(4 + length + 4);
+            record.putInt(length);
+            record.put((byte) (score.getLevel() == null ? -1 : score.getLevel().ordinal()));
+            record.putShort((short) score.getRows());
+            record.putShort((short) score.getCols());
+            record.putInt(score.getScore());
+            record.putLong(score.getDate() == null ? 0 : score.getDate().getTime());
+            record.putShort((short) nameLength);
+            record.put(name, 0, nameLength);
+            crc.reset();
+            crc.update(record.array(), 4, length);
+            record.putInt((int) crc.getValue());
+            bytes.write(record.array(), 0, record.position());
+        }
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    private static HighScore decode(ByteBuffer data) {
+        int levelIndex = data.get();
+        int rows = data.getShort();
+        int cols = data.getShort();
+        int score = data.getInt();
+        long time = data.getLong();
+        byte[] name = new byte[data.getShort()];
+        data.get(name);
+        DifficultyLevel level = levelIndex >= 0 && levelIndex < LEVELS.length ? LEVELS[levelIndex] : null;
+        return new HighScore(new String(name, StandardCharsets.UTF_8), score, level, rows, cols, new Date(time));
+    }
+}
@@ -0,0 +1,199 @@
+package model;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import model.Dictionary.DifficultyLevel;
+
+/**
+ * Thread-safe high score tables, one per board (difficulty and grid size),
+ * for many sessions submitting at once. Each board publishes its top scores
+ * as an immutable list through a volatile field, so reading the top list
+ * never blocks or waits on writers. Submissions to the same board are
+ * serialized by a lock; different boards do not contend. Rank queries take
+ * the board's read lock and cost O(log n).
+ */
+public class Leaderboard {
+    private static final class Board {
+        final ScoreBoard scores;
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        final Map<String, HighScore> bestByPlayer = new ConcurrentHashMap<>();
+        volatile List<HighScore> top = Collections.emptyList();
+
+        Board(int capacity) {
+            scores = new ScoreBoard(capacity);
+        }
+    }
+
+    private final int capacity;
+    private final int topSize;
+    private final Map<String, Board> boards = new ConcurrentHashMap<>();
+
+    /**
+     * @param capacity scores kept per board
+     * @param topSize  scores published for wait-free reads per board
+     */
+    public Leaderboard(int capacity, int topSize) {
+        this.capacity = capacity;
+        this.topSize = topSize;
+    }
+
+    public static String boardKey(DifficultyLevel level, int rows, int cols) {
+        return (level == null ? "-" : level.name()) + ' ' + rows + 'x' + cols;
+    }
+
+    /**
+     * Records a score and returns its 1-based rank on its board, or 0 if it
+     * did not make the kept scores.
+     */
+    public int submit(HighScore score) {
+        Board board = board(score.getLevel(), score.getRows(), score.getCols());
+        board.bestByPlayer.merge(score.getPlayerName(), score,
+            (previous, current) -> current.getScore() > previous.getScore() ? current : previous);
+
+        int rank;
+        board.lock.writeLock().lock();
+        try {
+            rank = board.scores.add(score);
+            // Only republish when the score entered the visible top list;
+            // anything below it cannot change that list
+            if (rank > 0 && rank <= topSize) {
+                board.top = Collections.unmodifiableList(board.scores.top(topSize));
+            }
+        } finally {
+            board.lock.writeLock().unlock();
+        }
+        return rank;
+    }
+
+    /**
+     * Returns the published top scores of a board, best first, without
+     * taking any lock.
+     */
+    public List<HighScore> getTop(DifficultyLevel level, int rows, int cols) {
+        Board board = boards.get(boardKey(level, rows, cols));
+        return board == null ? Collections.<HighScore>emptyList() : board.top;
+    }
+
+    /**
+     * Returns the best count scores of a board. Counts up to the published
+     * top size are served from the lock-free list.
+     */
+    public List<HighScore> getTop(DifficultyLevel level, int rows, int cols, int count) {
+        if (count <= topSize) {
+            List<HighScore> top = getTop(level, rows, cols);
+            return top.size() <= count ? top : top.subList(0, count);
+        }
+        Board board = boards.get(boardKey(level, rows, cols));
+        if (board == null) return Collections.emptyList();
+        board.lock.readLock().lock();
+        try {
+            return board.scores.top(count);
+        } finally {
+            board.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns true if the score would enter the published top list of its
+     * board. Lock-free, so a concurrent submission may already have raised
+     * the bar by the time the score is submitted.
+     */
+    public boolean isTopScore(int score, DifficultyLevel level, int rows, int cols) {
+        List<HighScore> top = getTop(level, rows, cols);
+        return top.size() < topSize || score > top.get(top.size() - 1).getScore();
+    }
+
+    /**
+     * Returns the rank a new score would get on a board, or 0 if it would
+     * not be kept.
+     */
+    public int getRank(int score, DifficultyLevel level, int rows, int cols) {
+        Board board = boards.get(boardKey(level, rows, cols));
+        if (board == null) return 1;
+        board.lock.readLock().lock();
+        try {
+            return board.scores.rankOf(score);
+        } finally {
+            board.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns true if the score is still among the kept scores of its board,
+     * judged by value: a score tied with the lowest kept one counts as kept.
+     */
+    public boolean isKept(HighScore score) {
+        Board board = boards.get(boardKey(score.getLevel(), score.getRows(), score.getCols()));
+        if (board == null) return false;
+        board.lock.readLock().lock();
+        try {
+            return board.scores.countAbove(score.getScore()) < board.scores.size();
+        } finally {
+            board.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the best score a player has submitted on a board, or null.
+     */
+    public HighScore getBestScore(String playerName, DifficultyLevel level, int rows, int cols) {
+        Board board = boards.get(boardKey(level, rows, cols));
+        return board == null ? null : board.bestByPlayer.get(playerName);
+    }
+
+    /**
+     * Returns the rank of a player's best score on a board, or 0 if the
+     * player has no kept score there. Tied scores share a rank: one more
+     * than the number of strictly better scores.
+     */
+    public int getPlayerRank(String playerName, DifficultyLevel level, int rows, int cols) {
+        Board board = boards.get(boardKey(level, rows, cols));
+        HighScore best = board == null ? null : board.bestByPlayer.get(playerName);
+        if (best == null) return 0;
+        board.lock.readLock().lock();
+        try {
+            // Competition ranking, so ties with earlier scores do not push it down
+            int rank = board.scores.countAbove(best.getScore()) + 1;
+            return rank <= board.scores.size() ? rank : 0;
+        } finally {
+            board.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of kept scores over all boards.
+     */
+    public int size() {
+        int count = 0;
+        for (Board board : boards.values()) {
+            board.lock.readLock().lock();
+            try {
+                count += board.scores.size();
+            } finally {
+                board.lock.readLock().unlock();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns every kept score, board by board and best first within a board.
+     */
+    public List<HighScore> getAllScores() {
+        List<HighScore> all = new ArrayList<>();
+        for (Board board : boards.values()) {
+            board.lock.readLock().lock();
+            try {
+                all.addAll(board.scores.top(Integer.MAX_VALUE));
+            } finally {
+                board.lock.readLock().unlock();
+            }
+        }
+        return all;
+    }
+
+    private Board board(DifficultyLevel level, int rows, int cols) {
+        return boards.computeIfAbsent(boardKey(level, rows, cols), key -> new Board(capacity));
+    }
+}
@@ -0,0 +1,21 @@
+package model;
+
+/**
+ * The built-in path finding engines a grid can be configured with.
+ */
+public enum PathAlgorithm {
+    BFS,
+    A_STAR,
+    BIDIRECTIONAL_BFS;
+
+    public PathFinder createPathFinder() {
+        switch (this) {
+            case A_STAR:
+                return new AStarPathFinder();
+            case BIDIRECTIONAL_BFS:
+                return new BidirectionalBfsPathFinder();
+            default:
+                return new BfsPathFinder();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package model;
+
+import java.util.List;
+
+/**
+ * Finds shortest paths between cells of a grid. All moves cost 1, so any
+ * implementation must return paths of the same length as a plain BFS.
+ * Implementations keep reusable scratch buffers and are not thread-safe.
+ */
+public interface PathFinder {
+    /**
+     * Returns a shortest path from start to end (both included), or null if
+     * end cannot be reached.
+     */
+    List<Cell> findPath(Grid grid, Cell start, Cell end);
+}
@@ -0,0 +1,180 @@
+package model;
+
+import java.util.*;
+
+/**
+ * The best scores of one board (difficulty and grid size), ordered by score
+ * and then by arrival so that earlier scores win ties. Backed by a treap
+ * whose nodes know their subtree size, so inserting and ranking a score are
+ * O(log n) instead of a sort of the whole list. Holds at most capacity
+ * scores, dropping the lowest. Not thread-safe.
+ */
+final class ScoreBoard {
+    private static final class Node {
+        final HighScore score;
+        final long sequence;
+        final int priority;
+        int size = 1;
+        Node left;
+        Node right;
+
+        Node(HighScore score, long sequence) {
+            this.score = score;
+            this.sequence = sequence;
+            // Mixed sequence number as heap priority, deterministic but balanced
+            long z = (sequence + 1) * 0x9E3779B97F4A7C15L;
+            z = (z ^ (z >>> 31)) * 0xBF58476D1CE4E5B9L;
+            this.priority = (int) (z ^ (z >>> 32));
+        }
+    }
+
+    private final int capacity;
+    private Node root;
+    private long nextSequence;
+
+    ScoreBoard(int capacity) {
+        this.capacity = capacity;
+    }
+
+    int size() {
+        return size(root);
+    }
+
+    /**
+     * Adds a score and returns its 1-based rank, or 0 if the board is full
+     * and the score is not better than any kept score.
+     */
+    int add(HighScore score) {
+        if (size(root) >= capacity && score.getScore() <= lowest().score.getScore()) {
+            return 0;
+        }
+        Node node = new Node(score, nextSequence++);
+        root = insert(root, node);
+        if (size(root) > capacity) {
+            root = removeLast(root);
+        }
+        // The new node is last among equal scores
+        return countAtLeast(score.getScore());
+    }
+
+    /**
+     * Returns the rank a new score would get, or 0 if it would not be kept.
+     */
+    int rankOf(int score) {
+        if (size(root) >= capacity && score <= lowest().score.getScore()) {
+            return 0;
+        }
+        return countAtLeast(score) + 1;
+    }
+
+    /**
+     * Returns the number of kept scores strictly better than the given one.
+     */
+    int countAbove(int score) {
+        int count = 0;
+        Node node = root;
+        while (node != null) {
+            if (node.score.getScore() > score) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    private int countAtLeast(int score) {
+        int count = 0;
+        Node node = root;
+        while (node != null) {
+            if (node.score.getScore() >= score) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the best n scores, best first.
+     */
+    List<HighScore> top(int n) {
+        List<HighScore> result = new ArrayList<>(Math.min(n, size(root)));
+        collect(root, n, result);
+        return result;
+    }
+
+    private static void collect(Node node, int n, List<HighScore> result) {
+        if (node == null || result.size() >= n) return;
+        collect(node.left, n, result);
+        if (result.size() < n) result.add(node.score);
+        collect(node.right, n, result);
+    }
+
+    private Node lowest() {
+        Node node = root;
+        while (node.right != null) node = node.right;
+        return node;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    // Ranking order: higher score first, then earlier sequence
+    private static boolean before(Node a, Node b) {
+        if (a.score.getScore() != b.score.getScore()) {
+            return a.score.getScore() > b.score.getScore();
+        }
+        return a.sequence < b.sequence;
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) return added;
+        if (added.priority > node.priority) {
+            Node[] halves = split(node, added);
+            added.left = halves[0];
+            added.right = halves[1];
+            update(added);
+            return added;
+        }
+        if (before(added, node)) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        update(node);
+        return node;
+    }
+
+    // Splits into the nodes ranked before pivot and those ranked after it
+    private static Node[] split(Node node, Node pivot) {
+        if (node == null) return new Node[2];
+        if (before(node, pivot)) {
+            Node[] halves = split(node.right, pivot);
+            node.right = halves[0];
+            update(node);
+            halves[0] = node;
+            return halves;
+        }
+        Node[] halves = split(node.left, pivot);
+        node.left = halves[1];
+        update(node);
+        halves[1] = node;
+        return halves;
+    }
+
+    private static Node removeLast(Node node) {
+        if (node.right == null) return node.left;
+        node.right = removeLast(node.right);
+        update(node);
+        return node;
+    }
+}
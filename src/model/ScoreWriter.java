@@ -0,0 +1,256 @@
+package model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Write-behind queue in front of a score sink. Submitted scores are
+ * collected by a background thread into a group commit that is written once
+ * batchSize scores are waiting or the oldest has waited maxDelayMillis,
+ * whichever comes first. Before writing, scores that are no longer kept on
+ * their board are coalesced away, so a burst of scores that push each other
+ * out never reaches the disk. A batch the sink fails to write is kept and
+ * retried with the next commit; flush and close report the failure.
+ */
+public class ScoreWriter {
+    /**
+     * Receives each batch; expected to make it durable before returning.
+     */
+    public interface Sink {
+        void write(List<HighScore> batch) throws IOException;
+    }
+
+    /**
+     * A snapshot of the writer's counters.
+     */
+    public static final class Stats {
+        private final long queued;
+        private final long flushed;
+        private final long coalesced;
+        private final long flushes;
+        private final long failedFlushes;
+        private final long totalFlushNanos;
+        private final long maxFlushNanos;
+
+        Stats(long queued, long flushed, long coalesced, long flushes, long failedFlushes,
+                long totalFlushNanos, long maxFlushNanos) {
+            this.queued = queued;
+            this.flushed = flushed;
+            this.coalesced = coalesced;
+            this.flushes = flushes;
+            this.failedFlushes = failedFlushes;
+            this.totalFlushNanos = totalFlushNanos;
+            this.maxFlushNanos = maxFlushNanos;
+        }
+
+        public long getQueued() { return queued; }
+        public long getFlushed() { return flushed; }
+        public long getCoalesced() { return coalesced; }
+        public long getFlushes() { return flushes; }
+        public long getFailedFlushes() { return failedFlushes; }
+        public long getPending() { return queued - flushed - coalesced; }
+
+        public double getAverageFlushMillis() {
+            return flushes == 0 ? 0 : totalFlushNanos / 1e6 / flushes;
+        }
+
+        public double getMaxFlushMillis() {
+            return maxFlushNanos / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("queued %d, flushed %d, coalesced %d, pending %d, %d flushes (%d failed, avg %.2f ms, max %.2f ms)",
+                queued, flushed, coalesced, getPending(), flushes, failedFlushes,
+                getAverageFlushMillis(), getMaxFlushMillis());
+        }
+    }
+
+    // Queued after the last score when closing
+    private static final Object STOP = new Object();
+
+    // Asks for everything queued before it to be written
+    private static final class FlushRequest {
+        final CountDownLatch done = new CountDownLatch(1);
+        volatile IOException error;
+    }
+
+    private final Sink sink;
+    private final Predicate<HighScore> stillKept;
+    private final int batchSize;
+    private final long maxDelayNanos;
+    // Scores, flush requests and finally STOP
+    private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+    // Held while checking closed and enqueuing, so nothing lands after STOP
+    private final Object queueLock = new Object();
+    private final Thread thread;
+    private boolean closed;
+    // Scores of a failed commit, retried with the next one; writer thread only
+    private List<HighScore> unwritten = Collections.emptyList();
+    private volatile IOException lastError;
+
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong flushed = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+    private final AtomicLong totalFlushNanos = new AtomicLong();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+
+    public ScoreWriter(Sink sink, Predicate<HighScore> stillKept, int batchSize, long maxDelayMillis) {
+        this.sink = sink;
+        this.stillKept = stillKept;
+        this.batchSize = batchSize;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        this.thread = new Thread(this::run, "high-score-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Queues a score for the next group commit. Never blocks on the disk.
+     */
+    public void submit(HighScore score) {
+        synchronized (queueLock) {
+            if (closed) {
+                throw new IllegalStateException("Score writer is closed");
+            }
+            queued.incrementAndGet();
+            queue.add(score);
+        }
+    }
+
+    /**
+     * Blocks until every score submitted before this call is written.
+     *
+     * @throws UncheckedIOException if the sink failed to write them; they
+     *         stay queued and are retried with the next commit
+     */
+    public void flush() {
+        FlushRequest request = new FlushRequest();
+        synchronized (queueLock) {
+            if (closed) return;
+            queue.add(request);
+        }
+        try {
+            request.done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (request.error != null) {
+            throw new UncheckedIOException("Scores could not be written", request.error);
+        }
+    }
+
+    /**
+     * Writes everything still queued and stops the background thread.
+     *
+     * @throws UncheckedIOException if some scores could not be written
+     */
+    public void close() {
+        synchronized (queueLock) {
+            if (closed) return;
+            closed = true;
+            // Not an interrupt: that would close the sink's file channel mid-write
+            queue.add(STOP);
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (!unwritten.isEmpty()) {
+            throw new UncheckedIOException(unwritten.size() + " scores could not be written", lastError);
+        }
+    }
+
+    public Stats getStats() {
+        return new Stats(queued.get(), flushed.get(), coalesced.get(), flushes.get(), failedFlushes.get(),
+            totalFlushNanos.get(), maxFlushNanos.get());
+    }
+
+    private void run() {
+        List<Object> batch = new ArrayList<>();
+        while (true) {
+            Object last;
+            try {
+                // With a failed commit waiting, retry it after maxDelay at the latest
+                last = unwritten.isEmpty() ? queue.take() : queue.poll(maxDelayNanos, TimeUnit.NANOSECONDS);
+                if (last != null) batch.add(last);
+                // Group commit: gather until the batch is full, the oldest
+                // score has waited long enough, or someone asks for a flush
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < batchSize && last instanceof HighScore) {
+                    long wait = deadline - System.nanoTime();
+                    if (wait <= 0) break;
+                    last = queue.poll(wait, TimeUnit.NANOSECONDS);
+                    if (last == null) break;
+                    batch.add(last);
+                }
+            } catch (InterruptedException e) {
+                continue;
+            }
+            write(batch);
+            batch.clear();
+            if (last == STOP) return;
+        }
+    }
+
+    private void write(List<Object> batch) {
+        List<HighScore> scores = new ArrayList<>(unwritten.size() + batch.size());
+        int dropped = 0;
+        for (HighScore score : unwritten) {
+            if (stillKept.test(score)) {
+                scores.add(score);
+            } else {
+                dropped++;
+            }
+        }
+        for (Object item : batch) {
+            if (item instanceof HighScore) {
+                HighScore score = (HighScore) item;
+                if (stillKept.test(score)) {
+                    scores.add(score);
+                } else {
+                    dropped++;
+                }
+            }
+        }
+        coalesced.addAndGet(dropped);
+
+        IOException error = null;
+        unwritten = Collections.emptyList();
+        if (!scores.isEmpty()) {
+            long start = System.nanoTime();
+            try {
+                sink.write(scores);
+                flushed.addAndGet(scores.size());
+            } catch (IOException e) {
+                // Keep the scores for the next commit rather than lose them
+                e.printStackTrace();
+                error = e;
+                lastError = e;
+                unwritten = scores;
+                failedFlushes.incrementAndGet();
+            }
+            long elapsed = System.nanoTime() - start;
+            flushes.incrementAndGet();
+            totalFlushNanos.addAndGet(elapsed);
+            maxFlushNanos.accumulateAndGet(elapsed, Math::max);
+        }
+
+        for (Object item : batch) {
+            if (item instanceof FlushRequest) {
+                FlushRequest request = (FlushRequest) item;
+                request.error = error;
+                request.done.countDown();
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package model;
+
+import java.util.*;
+
+/**
+ * An immutable snapshot of one level's words, sorted longest first and
+ * bucketed by length. Views returned from it share its array, and sampling
+ * picks indices directly instead of materializing the word set.
+ */
+public class WordIndex {
+    private final String[] words;
+    // lengthStart[n] is the number of words longer than n, which is also
+    // where words of length n begin in the descending order
+    private final int[] lengthStart;
+    private final List<String> view;
+
+    public WordIndex(Collection<String> source) {
+        words = source.toArray(new String[0]);
+        Arrays.sort(words, (a, b) -> a.length() != b.length() ? b.length() - a.length() : a.compareTo(b));
+
+        int maxLength = words.length == 0 ? 0 : words[0].length();
+        lengthStart = new int[maxLength + 2];
+        int index = 0;
+        for (int length = maxLength + 1; length >= 0; length--) {
+            while (index < words.length && words[index].length() > length) {
+                index++;
+            }
+            lengthStart[length] = index;
+        }
+        view = Collections.unmodifiableList(Arrays.asList(words));
+    }
+
+    public int size() {
+        return words.length;
+    }
+
+    public int getMaxLength() {
+        return lengthStart.length - 2;
+    }
+
+    /**
+     * Returns all words, longest first.
+     */
+    public List<String> getWords() {
+        return view;
+    }
+
+    public List<String> getWordsOfLength(int length) {
+        return getWordsInRange(length, length);
+    }
+
+    /**
+     * Returns the words whose length lies in [minLength, maxLength], longest
+     * first, as a view. An empty range (minLength above maxLength) gives an
+     * empty list.
+     */
+    public List<String> getWordsInRange(int minLength, int maxLength) {
+        int from = fromIndex(maxLength);
+        int to = toIndex(minLength);
+        return from < to ? view.subList(from, to) : Collections.<String>emptyList();
+    }
+
+    public int countInRange(int minLength, int maxLength) {
+        return Math.max(0, toIndex(minLength) - fromIndex(maxLength));
+    }
+
+    /**
+     * Picks up to k distinct words with length in [minLength, maxLength], in
+     * random order. Uses Floyd's algorithm, so only k indices are touched.
+     */
+    public List<String> sample(int minLength, int maxLength, int k, Random random) {
+        int from = fromIndex(maxLength);
+        int range = countInRange(minLength, maxLength);
+        k = Math.min(k, range);
+
+        Set<Integer> chosen = new HashSet<>(k * 2);
+        List<String> result = new ArrayList<>(k);
+        for (int j = range - k; j < range; j++) {
+            int pick = random.nextInt(j + 1);
+            if (!chosen.add(pick)) {
+                pick = j;
+                chosen.add(pick);
+            }
+            result.add(words[from + pick]);
+        }
+        Collections.shuffle(result, random);
+        return result;
+    }
+
+    private int fromIndex(int maxLength) {
+        if (maxLength >= lengthStart.length - 1) return 0;
+        return lengthStart[Math.max(0, maxLength)];
+    }
+
+    private int toIndex(int minLength) {
+        if (minLength <= 1) return words.length;
+        if (minLength - 1 >= lengthStart.length) return 0;
+        return lengthStart[minLength - 1];
+    }
+}
@@ -0,0 +1,42 @@
+package model;
+
+/**
+ * Records where a word was written into the grid.
+ */
+public class WordPlacement {
+    private final String word;
+    private final int row;
+    private final int col;
+    private final int dRow;
+    private final int dCol;
+
+    public WordPlacement(String word, int row, int col, int dRow, int dCol) {
+        this.word = word;
+        this.row = row;
+        this.col = col;
+        this.dRow = dRow;
+        this.dCol = dCol;
+    }
+
+    public String getWord() { return word; }
+    public int getRow() { return row; }
+    public int getCol() { return col; }
+    public int getDRow() { return dRow; }
+    public int getDCol() { return dCol; }
+    public int getLength() { return word.length(); }
+
+    /**
+     * Returns the row of the i-th letter of the word.
+     */
+    public int getRowAt(int i) { return row + i * dRow; }
+
+    /**
+     * Returns the column of the i-th letter of the word.
+     */
+    public int getColAt(int i) { return col + i * dCol; }
+
+    @Override
+    public String toString() {
+        return word + "@(" + row + "," + col + ")+(" + dRow + "," + dCol + ")";
+    }
+}
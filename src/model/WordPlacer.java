@@ -0,0 +1,189 @@
+package model;
+
+import java.util.*;
+
+/**
+ * Places words into a grid by choosing among the line segments that can
+ * actually hold them. Segments are precomputed per word length, visited in
+ * random order and filtered against blocked cells and letter overlaps. When
+ * a greedy pass falls short of the required count, a bounded backtracking
+ * search retries. All work is measured in slot checks and, while
+ * backtracking, candidate visits, so a given seed always does the same
+ * amount of work and no step costs more than maxSlotsPerWord.
+ */
+class WordPlacer {
+    private static final int[] ROW_STEPS = {0, 1, 1, 1, -1, -1, -1, 0};
+    private static final int[] COL_STEPS = {1, 0, 1, -1, 1, -1, 0, -1};
+
+    private final Grid grid;
+    private final Random random;
+    private final int maxSlotsPerWord;
+    private final int[][] slotsByLength;
+    private int budget;
+
+    // Placements in progress, with the letters they overwrote for undo
+    private final List<WordPlacement> placements = new ArrayList<>();
+    private final List<char[]> overwritten = new ArrayList<>();
+
+    WordPlacer(Grid grid, Random random, int maxSlotsPerWord) {
+        this.grid = grid;
+        this.random = random;
+        this.maxSlotsPerWord = maxSlotsPerWord;
+        this.slotsByLength = new int[Math.max(grid.getRows(), grid.getCols()) + 1][];
+    }
+
+    /**
+     * Places up to required words taken from candidates, spending at most
+     * budget slot checks. Returns the placements that were written.
+     */
+    List<WordPlacement> place(List<String> candidates, int required, int budget, boolean backtrack) {
+        this.budget = budget;
+        for (String word : candidates) {
+            if (placements.size() >= required || this.budget <= 0) break;
+            tryPlace(word);
+        }
+
+        if (placements.size() < required && candidates.size() >= required && backtrack && this.budget > 0) {
+            List<WordPlacement> greedy = new ArrayList<>(placements);
+            undoTo(0);
+            if (!search(candidates, 0, required)) {
+                // Backtracking ran out of budget; keep the greedy result
+                undoTo(0);
+                for (WordPlacement placement : greedy) {
+                    write(placement);
+                }
+            }
+        }
+        return new ArrayList<>(placements);
+    }
+
+    private boolean search(List<String> candidates, int next, int required) {
+        if (placements.size() >= required) return true;
+
+        for (int i = next; i < candidates.size() && budget > 0; i++) {
+            // Not enough candidates left to reach the target
+            if (candidates.size() - i < required - placements.size()) return false;
+            budget--;
+
+            String word = candidates.get(i);
+            // Deeper levels reshuffle the shared slot table, so keep our draw
+            int[] slots = drawSlots(word.length());
+            for (int s = 0; s < slots.length && budget > 0; s++) {
+                budget--;
+                if (!fits(word, slots[s])) continue;
+
+                int depth = placements.size();
+                write(toPlacement(word, slots[s]));
+                if (search(candidates, i + 1, required)) return true;
+                undoTo(depth);
+            }
+        }
+        return false;
+    }
+
+    private boolean tryPlace(String word) {
+        int[] slots = getSlots(word.length());
+        // Partial Fisher-Yates: visit slots in random order and stop at the first fit
+        for (int s = 0; s < slots.length && budget > 0; s++) {
+            int j = s + random.nextInt(slots.length - s);
+            int slot = slots[j];
+            slots[j] = slots[s];
+            slots[s] = slot;
+            budget--;
+            if (fits(word, slot)) {
+                write(toPlacement(word, slot));
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns every (start cell, direction) pair whose segment of the given
+     * length lies inside the grid, encoded as cellId * 8 + direction.
+     */
+    private int[] getSlots(int length) {
+        if (length <= 0 || length >= slotsByLength.length) return new int[0];
+        if (slotsByLength[length] == null) {
+            int rows = grid.getRows();
+            int cols = grid.getCols();
+            int[] slots = new int[rows * cols * ROW_STEPS.length];
+            int count = 0;
+            for (int d = 0; d < ROW_STEPS.length; d++) {
+                int span = length - 1;
+                int rowFrom = ROW_STEPS[d] < 0 ? span : 0;
+                int rowTo = ROW_STEPS[d] > 0 ? rows - 1 - span : rows - 1;
+                int colFrom = COL_STEPS[d] < 0 ? span : 0;
+                int colTo = COL_STEPS[d] > 0 ? cols - 1 - span : cols - 1;
+                for (int r = rowFrom; r <= rowTo; r++) {
+                    for (int c = colFrom; c <= colTo; c++) {
+                        slots[count++] = (r * cols + c) * ROW_STEPS.length + d;
+                    }
+                }
+            }
+            slotsByLength[length] = Arrays.copyOf(slots, count);
+        }
+        return slotsByLength[length];
+    }
+
+    // Partial Fisher-Yates: draws up to maxSlotsPerWord random slots without
+    // touching the rest of the table
+    private int[] drawSlots(int length) {
+        int[] slots = getSlots(length);
+        int[] drawn = new int[Math.min(maxSlotsPerWord, slots.length)];
+        for (int s = 0; s < drawn.length; s++) {
+            int j = s + random.nextInt(slots.length - s);
+            int slot = slots[j];
+            slots[j] = slots[s];
+            slots[s] = slot;
+            drawn[s] = slot;
+        }
+        return drawn;
+    }
+
+    private WordPlacement toPlacement(String word, int slot) {
+        int cellId = slot / ROW_STEPS.length;
+        int d = slot % ROW_STEPS.length;
+        return new WordPlacement(word, cellId / grid.getCols(), cellId % grid.getCols(),
+            ROW_STEPS[d], COL_STEPS[d]);
+    }
+
+    private boolean fits(String word, int slot) {
+        int cellId = slot / ROW_STEPS.length;
+        int d = slot % ROW_STEPS.length;
+        int r = cellId / grid.getCols();
+        int c = cellId % grid.getCols();
+        Cell destination = grid.getDestinationCell();
+        for (int i = 0; i < word.length(); i++) {
+            Cell cell = grid.getCell(r + i * ROW_STEPS[d], c + i * COL_STEPS[d]);
+            if (cell.isBlocked() || cell == destination ||
+                (cell.getLetter() != ' ' && cell.getLetter() != word.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void write(WordPlacement placement) {
+        String word = placement.getWord();
+        char[] previous = new char[word.length()];
+        for (int i = 0; i < word.length(); i++) {
+            Cell cell = grid.getCell(placement.getRowAt(i), placement.getColAt(i));
+            previous[i] = cell.getLetter();
+            cell.setLetter(word.charAt(i));
+        }
+        placements.add(placement);
+        overwritten.add(previous);
+    }
+
+    private void undoTo(int depth) {
+        while (placements.size() > depth) {
+            int last = placements.size() - 1;
+            WordPlacement placement = placements.remove(last);
+            char[] previous = overwritten.remove(last);
+            for (int i = 0; i < previous.length; i++) {
+                grid.getCell(placement.getRowAt(i), placement.getColAt(i)).setLetter(previous[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package model;
+
+import java.util.concurrent.atomic.AtomicReference;
+import model.Dictionary.DifficultyLevel;
+
+/**
+ * Holds the current {@link WordStore} shared by many sessions. Readers grab
+ * the current snapshot without locking; writers build a new store and swap
+ * it in with compare-and-set, so adding or reloading words never blocks
+ * validation.
+ */
+public class WordRepository {
+    private static final WordRepository DEFAULT = new WordRepository(WordStore.defaults());
+
+    private final AtomicReference<WordStore> current;
+
+    public WordRepository(WordStore store) {
+        this.current = new AtomicReference<>(store);
+    }
+
+    /**
+     * Returns the process-wide repository holding the built-in words.
+     */
+    public static WordRepository getDefault() {
+        return DEFAULT;
+    }
+
+    public WordStore snapshot() {
+        return current.get();
+    }
+
+    public void addWord(String word, DifficultyLevel level) {
+        WordStore before;
+        WordStore after;
+        do {
+            before = current.get();
+            after = before.withWord(word, level);
+        } while (before != after && !current.compareAndSet(before, after));
+    }
+
+    /**
+     * Adds every word of additions, retrying the merge if another writer
+     * swapped in a new store meanwhile.
+     */
+    public void addAll(WordStore additions) {
+        WordStore before;
+        WordStore after;
+        do {
+            before = current.get();
+            after = before.merge(additions);
+        } while (!current.compareAndSet(before, after));
+    }
+
+    /**
+     * Swaps in updated only if the current store is still expected, e.g.
+     * a store built on top of that snapshot.
+     */
+    public boolean compareAndSet(WordStore expected, WordStore updated) {
+        return current.compareAndSet(expected, updated);
+    }
+
+    /**
+     * Replaces all words, e.g. after reloading a word list from disk.
+     */
+    public void replace(WordStore store) {
+        current.set(store);
+    }
+}
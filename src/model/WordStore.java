@@ -0,0 +1,249 @@
+package model;
+
+import java.nio.CharBuffer;
+import java.util.*;
+import model.Dictionary.DifficultyLevel;
+
+/**
+ * An immutable snapshot of the words of every difficulty level, safe to
+ * share between any number of threads and game sessions. Adding words
+ * produces a new store through a {@link Builder}; existing readers keep
+ * using the snapshot they hold.
+ */
+public final class WordStore {
+    private static final DifficultyLevel[] LEVELS = DifficultyLevel.values();
+
+    private final WordTrie trie;
+    // Words per level; the word sets are views over the trie
+    private final int[] wordCounts;
+    private final List<Set<String>> words;
+    // Built lazily; WordIndex only has final fields, so a racy publication
+    // is safe and at worst builds the same index twice
+    private final WordIndex[] indexes;
+
+    private WordStore(WordTrie trie, int[] wordCounts) {
+        this.trie = trie;
+        this.wordCounts = wordCounts;
+        List<Set<String>> views = new ArrayList<>(LEVELS.length);
+        for (DifficultyLevel level : LEVELS) {
+            views.add(new LevelWords(trie, levelMask(level), wordCounts[level.ordinal()]));
+        }
+        this.words = Collections.unmodifiableList(views);
+        this.indexes = new WordIndex[LEVELS.length];
+    }
+
+    public static WordStore empty() {
+        return new Builder().build();
+    }
+
+    /**
+     * Returns a store with the built-in sample words of each level.
+     */
+    public static WordStore defaults() {
+        Builder builder = new Builder();
+
+        // Easy words (3-4 letters)
+        String[] easy = {"cat", "dog", "run", "jump", "play", "ball", "home", "tree",
+                        "book", "fish", "bird", "walk", "talk", "sing", "food"};
+        for (String word : easy) builder.add(word, DifficultyLevel.EASY);
+
+        // Medium words (5-7 letters)
+        String[] medium = {"garden", "flower", "window", "pencil", "school", "friend",
+                          "purple", "orange", "yellow", "monkey", "rabbit", "turtle"};
+        for (String word : medium) builder.add(word, DifficultyLevel.MEDIUM);
+
+        // Hard words (8+ letters)
+        String[] hard = {"elephant", "butterfly", "chocolate", "adventure", "beautiful",
+                        "dangerous", "wonderful", "knowledge", "important", "different"};
+        for (String word : hard) builder.add(word, DifficultyLevel.HARD);
+
+        return builder.build();
+    }
+
+    public boolean isWord(CharSequence word, DifficultyLevel level) {
+        return trie.isWord(word, levelMask(level));
+    }
+
+    public boolean isPrefix(CharSequence prefix, DifficultyLevel level) {
+        return trie.isPrefix(prefix, levelMask(level));
+    }
+
+    /**
+     * Returns the trie of this snapshot. Node ids are only meaningful for the
+     * store they came from.
+     */
+    public WordTrie getTrie() {
+        return trie;
+    }
+
+    /**
+     * Returns the words of a level as a read-only set backed by the trie, so
+     * no per-word entries are held besides the trie nodes.
+     */
+    public Set<String> getWords(DifficultyLevel level) {
+        return words.get(level.ordinal());
+    }
+
+    public WordIndex getWordIndex(DifficultyLevel level) {
+        WordIndex index = indexes[level.ordinal()];
+        if (index == null) {
+            index = new WordIndex(getWords(level));
+            indexes[level.ordinal()] = index;
+        }
+        return index;
+    }
+
+    public int getWordCount() {
+        return trie.getWordCount();
+    }
+
+    /**
+     * Returns a new store holding this store's words plus one more.
+     */
+    public WordStore withWord(String word, DifficultyLevel level) {
+        Builder builder = new Builder(this);
+        if (!builder.add(word, level)) return this;
+        return builder.build();
+    }
+
+    /**
+     * Returns a new store holding the words of both stores.
+     */
+    public WordStore merge(WordStore other) {
+        Builder builder = new Builder(this);
+        for (DifficultyLevel level : LEVELS) {
+            for (String word : other.getWords(level)) {
+                builder.add(word, level);
+            }
+        }
+        return builder.build();
+    }
+
+    public static int levelMask(DifficultyLevel level) {
+        return 1 << level.ordinal();
+    }
+
+    /**
+     * Describes the memory used by the trie next to an estimate of what the
+     * same words would cost as HashSet entries.
+     */
+    public String getMemoryReport() {
+        return String.format("Words: %d, trie nodes: %d%nTrie: %d bytes%nEquivalent HashSets: ~%d bytes",
+            trie.getWordCount(), trie.getNodeCount(), trie.estimateBytes(), estimateSetBytes());
+    }
+
+    /**
+     * Returns an estimate of the heap held by the store: the trie, since
+     * the word sets are views over it.
+     */
+    public long estimateResidentBytes() {
+        return trie.estimateBytes();
+    }
+
+    private long estimateSetBytes() {
+        long bytes = 0;
+        for (Set<String> levelWords : words) {
+            bytes += estimateSetBytes(levelWords);
+        }
+        return bytes;
+    }
+
+    private static long estimateSetBytes(Set<String> words) {
+        // Table slots (power of two above size / 0.75) plus a 32-byte node,
+        // a 24-byte String and a 16-byte-header Latin-1 array per entry
+        int capacity = Integer.highestOneBit(Math.max(1, (int) (words.size() / 0.75f)) * 2 - 1);
+        long bytes = 16 + 4L * capacity;
+        for (String word : words) {
+            bytes += 32 + 24 + ((16 + word.length() + 7) & ~7);
+        }
+        return bytes;
+    }
+
+    /**
+     * Accumulates words for a new store. A builder can only build once.
+     */
+    public static class Builder {
+        private WordTrie trie;
+        private final int[] wordCounts;
+
+        public Builder() {
+            trie = new WordTrie();
+            wordCounts = new int[LEVELS.length];
+        }
+
+        /**
+         * Starts from a copy of an existing store's words.
+         */
+        public Builder(WordStore base) {
+            trie = base.trie.copy();
+            wordCounts = base.wordCounts.clone();
+        }
+
+        public boolean add(String word, DifficultyLevel level) {
+            checkNotBuilt();
+            if (!trie.insert(word, levelMask(level))) return false;
+            wordCounts[level.ordinal()]++;
+            return true;
+        }
+
+        /**
+         * Adds a word given as the first length letters of a reusable buffer,
+         * which must already be lower case. Nothing is allocated per word.
+         */
+        public boolean add(char[] letters, int length, DifficultyLevel level) {
+            checkNotBuilt();
+            if (!trie.insert(CharBuffer.wrap(letters, 0, length), levelMask(level))) return false;
+            wordCounts[level.ordinal()]++;
+            return true;
+        }
+
+        public WordStore build() {
+            checkNotBuilt();
+            WordStore store = new WordStore(trie, wordCounts.clone());
+            trie = null;
+            return store;
+        }
+
+        private void checkNotBuilt() {
+            if (trie == null) {
+                throw new IllegalStateException("WordStore already built");
+            }
+        }
+    }
+
+    /**
+     * The words of one level, read straight from the trie.
+     */
+    private static final class LevelWords extends AbstractSet<String> {
+        private final WordTrie trie;
+        private final int levelMask;
+        private final int size;
+
+        LevelWords(WordTrie trie, int levelMask, int size) {
+            this.trie = trie;
+            this.levelMask = levelMask;
+            this.size = size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof String)) return false;
+            String word = (String) o;
+            // Stored words are lower case; the trie itself ignores case
+            for (int i = 0; i < word.length(); i++) {
+                if (Character.isUpperCase(word.charAt(i))) return false;
+            }
+            return trie.isWord(word, levelMask);
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return trie.words(levelMask);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package model;
+
+import java.util.*;
+
+/**
+ * A compact array-backed trie. Nodes are ints indexing parallel arrays;
+ * children form a sibling list kept sorted by letter. Each node carries a
+ * bitmask of the difficulty levels whose words end there and a bitmask of
+ * the levels with any word below it, so prefix checks can be restricted to
+ * one level. Lookups are case-insensitive and never allocate.
+ */
+public class WordTrie {
+    public static final int ROOT = 0;
+    public static final int NO_NODE = -1;
+
+    private char[] labels;
+    private int[] firstChild;
+    private int[] nextSibling;
+    private byte[] wordLevels;
+    private byte[] subtreeLevels;
+    private int nodeCount;
+    private int wordCount;
+
+    public WordTrie() {
+        this(64);
+    }
+
+    public WordTrie(int initialCapacity) {
+        labels = new char[Math.max(1, initialCapacity)];
+        firstChild = new int[labels.length];
+        nextSibling = new int[labels.length];
+        wordLevels = new byte[labels.length];
+        subtreeLevels = new byte[labels.length];
+        nodeCount = 1;
+        firstChild[ROOT] = NO_NODE;
+        nextSibling[ROOT] = NO_NODE;
+    }
+
+    /**
+     * Returns an independent copy, used to extend a trie without touching
+     * readers of the original.
+     */
+    public WordTrie copy() {
+        WordTrie copy = new WordTrie(labels.length);
+        copy.labels = Arrays.copyOf(labels, labels.length);
+        copy.firstChild = Arrays.copyOf(firstChild, labels.length);
+        copy.nextSibling = Arrays.copyOf(nextSibling, labels.length);
+        copy.wordLevels = Arrays.copyOf(wordLevels, labels.length);
+        copy.subtreeLevels = Arrays.copyOf(subtreeLevels, labels.length);
+        copy.nodeCount = nodeCount;
+        copy.wordCount = wordCount;
+        return copy;
+    }
+
+    /**
+     * Adds a word for the given level mask. Returns true if the word was not
+     * already present for all of those levels.
+     */
+    public boolean insert(CharSequence word, int levelMask) {
+        int node = ROOT;
+        subtreeLevels[ROOT] |= levelMask;
+        for (int i = 0; i < word.length(); i++) {
+            node = childOrCreate(node, Character.toLowerCase(word.charAt(i)));
+            subtreeLevels[node] |= levelMask;
+        }
+        boolean added = (wordLevels[node] & levelMask) != levelMask;
+        if (wordLevels[node] == 0) {
+            wordCount++;
+        }
+        wordLevels[node] |= levelMask;
+        return added;
+    }
+
+    /**
+     * Returns the child of node for letter c, or {@link #NO_NODE}.
+     */
+    public int step(int node, char c) {
+        if (node == NO_NODE) return NO_NODE;
+        c = Character.toLowerCase(c);
+        for (int child = firstChild[node]; child != NO_NODE; child = nextSibling[child]) {
+            if (labels[child] == c) return child;
+            if (labels[child] > c) break;
+        }
+        return NO_NODE;
+    }
+
+    public int find(CharSequence word) {
+        int node = ROOT;
+        for (int i = 0; i < word.length() && node != NO_NODE; i++) {
+            node = step(node, word.charAt(i));
+        }
+        return node;
+    }
+
+    public boolean isWord(CharSequence word, int levelMask) {
+        return isWordNode(find(word), levelMask);
+    }
+
+    public boolean isPrefix(CharSequence prefix, int levelMask) {
+        return isPrefixNode(find(prefix), levelMask);
+    }
+
+    public boolean isWordNode(int node, int levelMask) {
+        return node != NO_NODE && (wordLevels[node] & levelMask) != 0;
+    }
+
+    /**
+     * Returns true if some word of the given levels starts with the letters
+     * leading to node (including the word ending at node itself).
+     */
+    public boolean isPrefixNode(int node, int levelMask) {
+        return node != NO_NODE && (subtreeLevels[node] & levelMask) != 0;
+    }
+
+    /**
+     * Iterates over the words of the given levels in alphabetical order,
+     * walking the node arrays without copying them. The trie must not be
+     * modified while iterating.
+     */
+    public Iterator<String> words(int levelMask) {
+        return new Iterator<String>() {
+            // Pending nodes and their depths; a node's letter goes at depth - 1
+            private int[] stackNodes = new int[16];
+            private int[] stackDepths = new int[16];
+            private int size;
+            private char[] letters = new char[16];
+            private String next;
+
+            {
+                push(firstChild[ROOT], 1);
+                next = advance();
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public String next() {
+                if (next == null) throw new NoSuchElementException();
+                String word = next;
+                next = advance();
+                return word;
+            }
+
+            private String advance() {
+                while (size > 0) {
+                    size--;
+                    int node = stackNodes[size];
+                    int depth = stackDepths[size];
+                    if (depth > letters.length) letters = Arrays.copyOf(letters, depth * 2);
+                    letters[depth - 1] = labels[node];
+                    // Sibling below child, so the child's subtree comes first
+                    push(nextSibling[node], depth);
+                    push(firstChild[node], depth + 1);
+                    if ((wordLevels[node] & levelMask) != 0) {
+                        return new String(letters, 0, depth);
+                    }
+                }
+                return null;
+            }
+
+            private void push(int node, int depth) {
+                while (node != NO_NODE && (subtreeLevels[node] & levelMask) == 0) {
+                    node = nextSibling[node];
+                }
+                if (node == NO_NODE) return;
+                if (size == stackNodes.length) {
+                    stackNodes = Arrays.copyOf(stackNodes, size * 2);
+                    stackDepths = Arrays.copyOf(stackDepths, size * 2);
+                }
+                stackNodes[size] = node;
+                stackDepths[size] = depth;
+                size++;
+            }
+        };
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    /**
+     * Returns an estimate of the heap used by the node arrays.
+     */
+    public long estimateBytes() {
+        // char + 2 ints + 2 bytes per allocated node, plus five array headers
+        return (long) labels.length * (2 + 4 + 4 + 1 + 1) + 5 * 16;
+    }
+
+    private int childOrCreate(int node, char c) {
+        int previous = NO_NODE;
+        int child = firstChild[node];
+        while (child != NO_NODE && labels[child] < c) {
+            previous = child;
+            child = nextSibling[child];
+        }
+        if (child != NO_NODE && labels[child] == c) return child;
+
+        int created = allocate(c);
+        nextSibling[created] = child;
+        if (previous == NO_NODE) {
+            firstChild[node] = created;
+        } else {
+            nextSibling[previous] = created;
+        }
+        return created;
+    }
+
+    private int allocate(char c) {
+        if (nodeCount == labels.length) {
+            int capacity = labels.length * 2;
+            labels = Arrays.copyOf(labels, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            nextSibling = Arrays.copyOf(nextSibling, capacity);
+            wordLevels = Arrays.copyOf(wordLevels, capacity);
+            subtreeLevels = Arrays.copyOf(subtreeLevels, capacity);
+        }
+        int node = nodeCount++;
+        labels[node] = c;
+        firstChild[node] = NO_NODE;
+        nextSibling[node] = NO_NODE;
+        return node;
+    }
+}
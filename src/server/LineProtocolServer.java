@@ -0,0 +1,133 @@
+package server;
+
+import model.Dictionary.DifficultyLevel;
+import java.io.*;
+import java.net.*;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.*;
+
+/**
+ * A line-based loopback front end for {@link SessionManager}, meant for load
+ * testing. Each request is one line and gets exactly one reply line,
+ * starting with OK or ERR:
+ * <pre>
+ *   NEW easy|medium|hard rows cols [seed]  -&gt; OK sessionId
+ *   MOVE sessionId row col                 -&gt; OK true|false
+ *   SUBMIT sessionId                       -&gt; OK true|false
+ *   PATH sessionId row,col row,col ...     -&gt; OK true|false (trace and submit at once)
+ *   RESET sessionId                        -&gt; OK true
+ *   STATE sessionId                        -&gt; OK score=.. moves=.. ...
+ *   CLOSE sessionId                        -&gt; OK true|false
+ *   QUIT                                   -&gt; closes the connection
+ * </pre>
+ */
+public class LineProtocolServer {
+    private final SessionManager sessions;
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections;
+
+    public LineProtocolServer(SessionManager sessions, int port) throws IOException {
+        this.sessions = sessions;
+        this.serverSocket = new ServerSocket(port, 128, InetAddress.getLoopbackAddress());
+        this.connections = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "line-connection");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Accepts connections until the server is closed.
+     */
+    public void serve() throws IOException {
+        while (!serverSocket.isClosed()) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (SocketException e) {
+                break;  // Closed while waiting
+            }
+            connections.execute(() -> handle(socket));
+        }
+    }
+
+    public void close() throws IOException {
+        serverSocket.close();
+        connections.shutdownNow();
+    }
+
+    private void handle(Socket socket) {
+        try (Socket s = socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8));
+             PrintWriter out = new PrintWriter(new OutputStreamWriter(s.getOutputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] parts = line.trim().split("\\s+");
+                if (parts[0].equalsIgnoreCase("QUIT")) break;
+                out.println(respond(parts));
+                out.flush();
+            }
+        } catch (IOException e) {
+            // Client went away; nothing to clean up beyond the socket
+        }
+    }
+
+    String respond(String[] parts) {
+        try {
+            switch (parts[0].toUpperCase()) {
+                case "NEW":
+                    long seed = parts.length > 4 ? Long.parseLong(parts[4]) : ThreadLocalRandom.current().nextLong();
+                    return "OK " + sessions.create(DifficultyLevel.valueOf(parts[1].toUpperCase()),
+                        Integer.parseInt(parts[2]), Integer.parseInt(parts[3]), seed).get();
+                case "MOVE":
+                    return "OK " + sessions.move(parts[1], Integer.parseInt(parts[2]), Integer.parseInt(parts[3])).get();
+                case "SUBMIT":
+                    return "OK " + sessions.submit(parts[1]).get();
+                case "PATH":
+                    return "OK " + sessions.submitPath(parts[1], parsePath(parts)).get();
+                case "RESET":
+                    return "OK " + sessions.reset(parts[1]).get();
+                case "STATE":
+                    return "OK " + sessions.snapshot(parts[1]).get();
+                case "CLOSE":
+                    return "OK " + sessions.close(parts[1]).get();
+                default:
+                    return "ERR unknown command " + parts[0];
+            }
+        } catch (ExecutionException e) {
+            return "ERR " + e.getCause().getMessage();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "ERR interrupted";
+        } catch (RuntimeException e) {
+            return "ERR bad request: " + e;
+        }
+    }
+
+    private static int[] parsePath(String[] parts) {
+        int[] cells = new int[(parts.length - 2) * 2];
+        for (int i = 2; i < parts.length; i++) {
+            int comma = parts[i].indexOf(',');
+            cells[(i - 2) * 2] = Integer.parseInt(parts[i].substring(0, comma));
+            cells[(i - 2) * 2 + 1] = Integer.parseInt(parts[i].substring(comma + 1));
+        }
+        return cells;
+    }
+
+    /**
+     * Usage: LineProtocolServer [port] [loops]
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 7070;
+        int loops = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        SessionManager sessions = new SessionManager(loops);
+        LineProtocolServer server = new LineProtocolServer(sessions, port);
+        System.out.println("Word Labyrinth server listening on 127.0.0.1:" + server.getPort());
+        server.serve();
+    }
+}
@@ -0,0 +1,193 @@
+package server;
+
+import game.WordLabyrinth;
+import model.*;
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Hosts many headless {@link WordLabyrinth} games keyed by session id.
+ * Commands run on a small pool of single-threaded event loops; a session is
+ * always served by the same loop, so its game is only ever touched by one
+ * thread and needs no locking, while different sessions run in parallel.
+ * With a {@link SessionStore}, idle sessions can be evicted to disk and are
+ * resumed transparently by their next command.
+ */
+public class SessionManager {
+    private final ExecutorService[] loops;
+    private final Map<String, WordLabyrinth> sessions = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastAccess = new ConcurrentHashMap<>();
+    private SessionStore store;
+    private final WordRepository words;
+    private final AtomicLong nextId = new AtomicLong();
+
+    public SessionManager(int loopCount) {
+        this(loopCount, WordRepository.getDefault());
+    }
+
+    public SessionManager(int loopCount, WordRepository words) {
+        this.words = words;
+        this.loops = new ExecutorService[loopCount];
+        for (int i = 0; i < loopCount; i++) {
+            final int index = i;
+            loops[i] = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "session-loop-" + index);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Creates a new game and returns its session id once the board is ready.
+     */
+    public CompletableFuture<String> create(model.Dictionary.DifficultyLevel level, int rows, int cols, long seed) {
+        String sessionId = "s" + nextId.incrementAndGet();
+        return CompletableFuture.supplyAsync(() -> {
+            sessions.put(sessionId, new WordLabyrinth(words, level, rows, cols, seed));
+            lastAccess.put(sessionId, System.nanoTime());
+            return sessionId;
+        }, loopFor(sessionId));
+    }
+
+    public CompletableFuture<Boolean> move(String sessionId, int row, int col) {
+        return execute(sessionId, game -> {
+            Cell cell = game.getGrid().getCell(row, col);
+            return cell != null && game.move(cell);
+        });
+    }
+
+    public CompletableFuture<Boolean> submit(String sessionId) {
+        return execute(sessionId, WordLabyrinth::submitWord);
+    }
+
+    /**
+     * Traces and submits a whole word atomically; see
+     * {@link WordLabyrinth#submitPath(int[])}.
+     */
+    public CompletableFuture<Boolean> submitPath(String sessionId, int[] cells) {
+        return execute(sessionId, game -> game.submitPath(cells));
+    }
+
+    public CompletableFuture<Boolean> reset(String sessionId) {
+        return execute(sessionId, game -> {
+            game.resetPath();
+            return true;
+        });
+    }
+
+    public CompletableFuture<SessionSnapshot> snapshot(String sessionId) {
+        return execute(sessionId, game -> new SessionSnapshot(sessionId, game));
+    }
+
+    public CompletableFuture<Boolean> close(String sessionId) {
+        return CompletableFuture.supplyAsync(() -> {
+            lastAccess.remove(sessionId);
+            boolean removed = sessions.remove(sessionId) != null;
+            if (store != null) {
+                try {
+                    removed |= store.delete(sessionId);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return removed;
+        }, loopFor(sessionId));
+    }
+
+    /**
+     * Enables eviction of idle sessions to the given store.
+     */
+    public void setSessionStore(SessionStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Writes every session idle for at least idleMillis to the session store
+     * and drops it from memory. Returns how many sessions were evicted.
+     */
+    public CompletableFuture<Integer> evictIdle(long idleMillis) {
+        if (store == null) {
+            return CompletableFuture.completedFuture(0);
+        }
+        long cutoff = System.nanoTime() - idleMillis * 1000000L;
+        List<CompletableFuture<Boolean>> evictions = new ArrayList<>();
+        for (Map.Entry<String, Long> entry : lastAccess.entrySet()) {
+            if (entry.getValue() <= cutoff) {
+                String sessionId = entry.getKey();
+                // Re-checked on the session's loop in case a command just ran
+                evictions.add(CompletableFuture.supplyAsync(() -> evict(sessionId, cutoff), loopFor(sessionId)));
+            }
+        }
+        return CompletableFuture.allOf(evictions.toArray(new CompletableFuture<?>[0]))
+            .thenApply(ignored -> {
+                int evicted = 0;
+                for (CompletableFuture<Boolean> eviction : evictions) {
+                    if (eviction.join()) evicted++;
+                }
+                return evicted;
+            });
+    }
+
+    private boolean evict(String sessionId, long cutoff) {
+        Long accessed = lastAccess.get(sessionId);
+        WordLabyrinth game = sessions.get(sessionId);
+        if (accessed == null || accessed > cutoff || game == null) return false;
+        try {
+            store.save(sessionId, game);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        sessions.remove(sessionId);
+        lastAccess.remove(sessionId);
+        return true;
+    }
+
+    private WordLabyrinth resume(String sessionId) {
+        WordLabyrinth game = sessions.get(sessionId);
+        if (game == null && store != null) {
+            try {
+                game = store.take(sessionId, words);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (game != null) {
+                sessions.put(sessionId, game);
+            }
+        }
+        if (game != null) {
+            lastAccess.put(sessionId, System.nanoTime());
+        }
+        return game;
+    }
+
+    /**
+     * Runs an action against a session's game on that session's loop.
+     */
+    public <T> CompletableFuture<T> execute(String sessionId, Function<WordLabyrinth, T> action) {
+        return CompletableFuture.supplyAsync(() -> {
+            WordLabyrinth game = resume(sessionId);
+            if (game == null) {
+                throw new NoSuchElementException("Unknown session " + sessionId);
+            }
+            return action.apply(game);
+        }, loopFor(sessionId));
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    public void shutdown() {
+        for (ExecutorService loop : loops) {
+            loop.shutdown();
+        }
+    }
+
+    private Executor loopFor(String sessionId) {
+        return loops[Math.floorMod(sessionId.hashCode(), loops.length)];
+    }
+}
@@ -0,0 +1,49 @@
+package server;
+
+import game.WordLabyrinth;
+import model.Cell;
+import java.util.*;
+
+/**
+ * An immutable copy of the visible state of one game session.
+ */
+public class SessionSnapshot {
+    private final String sessionId;
+    private final int score;
+    private final int movesLeft;
+    private final int requiredWords;
+    private final List<String> foundWords;
+    private final String currentWord;
+    private final boolean won;
+    private final boolean lost;
+
+    SessionSnapshot(String sessionId, WordLabyrinth game) {
+        this.sessionId = sessionId;
+        this.score = game.getCurrentScore();
+        this.movesLeft = game.getMovesLeft();
+        this.requiredWords = game.getRequiredWords();
+        this.foundWords = Collections.unmodifiableList(game.getFoundWords());
+        StringBuilder word = new StringBuilder();
+        for (Cell cell : game.getCurrentPath()) {
+            word.append(cell.getLetter());
+        }
+        this.currentWord = word.toString();
+        this.won = game.hasWon();
+        this.lost = game.hasLost();
+    }
+
+    public String getSessionId() { return sessionId; }
+    public int getScore() { return score; }
+    public int getMovesLeft() { return movesLeft; }
+    public int getRequiredWords() { return requiredWords; }
+    public List<String> getFoundWords() { return foundWords; }
+    public String getCurrentWord() { return currentWord; }
+    public boolean hasWon() { return won; }
+    public boolean hasLost() { return lost; }
+
+    @Override
+    public String toString() {
+        return String.format("score=%d moves=%d words=%d/%d current=%s won=%b lost=%b",
+            score, movesLeft, foundWords.size(), requiredWords, currentWord, won, lost);
+    }
+}
@@ -0,0 +1,67 @@
+package server;
+
+import game.WordLabyrinth;
+import model.WordRepository;
+import java.io.*;
+import java.nio.file.*;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps evicted sessions on disk as compact game snapshots, one file per
+ * session. Files are written to a temporary name and renamed into place, so
+ * a crash never leaves a half-written snapshot behind. Session ids come from
+ * clients, so only ids of letters, digits, '_' and '-' are accepted.
+ */
+public class SessionStore {
+    private static final String SUFFIX = ".snap";
+    private static final Pattern VALID_ID = Pattern.compile("[A-Za-z0-9_-]+");
+
+    private final Path directory;
+
+    public SessionStore(Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory).toAbsolutePath().normalize();
+    }
+
+    public void save(String sessionId, WordLabyrinth game) throws IOException {
+        Path target = fileFor(sessionId);
+        Path temp = resolve(sessionId + SUFFIX + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            game.writeTo(out);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Loads and removes a saved session, or returns null if there is none.
+     */
+    public WordLabyrinth take(String sessionId, WordRepository words) throws IOException {
+        Path file = fileFor(sessionId);
+        if (!Files.exists(file)) return null;
+        WordLabyrinth game;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            game = WordLabyrinth.readFrom(in, words);
+        }
+        Files.delete(file);
+        return game;
+    }
+
+    public boolean delete(String sessionId) throws IOException {
+        return Files.deleteIfExists(fileFor(sessionId));
+    }
+
+    private Path fileFor(String sessionId) {
+        if (sessionId == null || !VALID_ID.matcher(sessionId).matches()) {
+            throw new IllegalArgumentException("Invalid session id: " + sessionId);
+        }
+        return resolve(sessionId + SUFFIX);
+    }
+
+    // Never hands out a path outside the store's directory
+    private Path resolve(String fileName) {
+        Path path = directory.resolve(fileName).normalize();
+        if (!path.getParent().equals(directory)) {
+            throw new IllegalArgumentException("Invalid session file: " + fileName);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,49 @@
+package ui;
+
+import model.*;
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * The classic renderer: one JButton per cell in a GridLayout. Fine for
+ * small boards; layout and repaint cost grow with the number of cells.
+ */
+public class ButtonGridRenderer implements GridRenderer {
+    private static final Font CELL_FONT = new Font("Arial", Font.BOLD, 16);
+
+    private final JPanel gridPanel;
+    private final JButton[][] cellButtons;
+
+    public ButtonGridRenderer(Grid grid, CellClickListener listener) {
+        gridPanel = new JPanel(new GridLayout(grid.getRows(), grid.getCols()));
+        cellButtons = new JButton[grid.getRows()][grid.getCols()];
+
+        for (int i = 0; i < grid.getRows(); i++) {
+            for (int j = 0; j < grid.getCols(); j++) {
+                Cell cell = grid.getCell(i, j);
+                JButton button = new JButton(String.valueOf(cell.getLetter()));
+                button.setPreferredSize(new Dimension(50, 50));
+                button.setFont(CELL_FONT);
+
+                final int row = i;
+                final int col = j;
+                button.addActionListener(e -> listener.cellClicked(row, col));
+
+                cellButtons[i][j] = button;
+                gridPanel.add(button);
+            }
+        }
+    }
+
+    @Override
+    public JComponent getComponent() {
+        return gridPanel;
+    }
+
+    @Override
+    public void paintCell(Cell cell, Color background, boolean blocked) {
+        JButton button = cellButtons[cell.getRow()][cell.getCol()];
+        button.setBackground(background);
+        button.setEnabled(!blocked);
+    }
+}
@@ -0,0 +1,146 @@
+package ui;
+
+import model.*;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.*;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Paints the whole grid in a single component. Letters are drawn from
+ * glyph images rendered once per letter and cell size, only the cells
+ * inside the clip are painted, and a click is mapped to its cell by
+ * division, so boards of 100x100 and more stay responsive. The canvas sits
+ * in a scroll pane when it does not fit the screen. Painting and hit tests
+ * read only the canvas's own copy of the letters and blocked flags, which
+ * changes on the EDT, never the cells the game thread is updating.
+ */
+public class CanvasGridRenderer extends JComponent implements GridRenderer {
+    private static final long serialVersionUID = 1L;
+    private static final Color DEFAULT_BACKGROUND = Color.WHITE;
+    private static final Color GRID_LINE_COLOR = Color.GRAY;
+    private static final Color LETTER_COLOR = Color.BLACK;
+    private static final Color BLOCKED_LETTER_COLOR = Color.DARK_GRAY;
+    private static final int MAX_CELL_SIZE = 50;
+    private static final int MIN_CELL_SIZE = 12;
+    // Largest grid area shown before scrolling
+    private static final int MAX_VIEW_SIZE = 750;
+
+    private final int rows;
+    private final int cols;
+    private final char[] letters;
+    private final boolean[] blocked;
+    private final Color[] backgrounds;
+    private final int cellSize;
+    private final JScrollPane scrollPane;
+    // Glyph images by letter, for open and blocked cells
+    private final Map<Character, BufferedImage> glyphs = new HashMap<>();
+    private final Map<Character, BufferedImage> blockedGlyphs = new HashMap<>();
+
+    public CanvasGridRenderer(Grid grid, CellClickListener listener) {
+        this.rows = grid.getRows();
+        this.cols = grid.getCols();
+        // The game thread is idle while the renderer is built
+        this.letters = new char[grid.getCellCount()];
+        this.blocked = new boolean[grid.getCellCount()];
+        for (int id = 0; id < letters.length; id++) {
+            Cell cell = grid.getCellById(id);
+            letters[id] = cell.getLetter();
+            blocked[id] = cell.isBlocked();
+        }
+        this.backgrounds = new Color[grid.getCellCount()];
+        int longest = Math.max(grid.getRows(), grid.getCols());
+        this.cellSize = Math.max(MIN_CELL_SIZE, Math.min(MAX_CELL_SIZE, MAX_VIEW_SIZE / longest));
+
+        setPreferredSize(new Dimension(grid.getCols() * cellSize + 1, grid.getRows() * cellSize + 1));
+        setOpaque(true);
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                if (!SwingUtilities.isLeftMouseButton(e)) return;
+                int row = e.getY() / cellSize;
+                int col = e.getX() / cellSize;
+                if (row < rows && col < cols && !blocked[row * cols + col]) {
+                    listener.cellClicked(row, col);
+                }
+            }
+        });
+
+        scrollPane = new JScrollPane(this);
+        scrollPane.setBorder(BorderFactory.createEmptyBorder());
+        scrollPane.getVerticalScrollBar().setUnitIncrement(cellSize);
+        scrollPane.getHorizontalScrollBar().setUnitIncrement(cellSize);
+        Dimension size = getPreferredSize();
+        scrollPane.getViewport().setPreferredSize(new Dimension(
+            Math.min(size.width, MAX_VIEW_SIZE), Math.min(size.height, MAX_VIEW_SIZE)));
+    }
+
+    @Override
+    public JComponent getComponent() {
+        return scrollPane;
+    }
+
+    @Override
+    public void paintCell(Cell cell, Color background, boolean blocked) {
+        int id = cell.getRow() * cols + cell.getCol();
+        backgrounds[id] = background;
+        this.blocked[id] = blocked;
+        // Swing coalesces these into one paint pass over their union
+        repaint(cell.getCol() * cellSize, cell.getRow() * cellSize, cellSize + 1, cellSize + 1);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) clip = new Rectangle(getSize());
+        g.setColor(getBackground() != null ? getBackground() : DEFAULT_BACKGROUND);
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+        // Only the cells that intersect the clip
+        int firstRow = Math.max(0, clip.y / cellSize);
+        int lastRow = Math.min(rows - 1, (clip.y + clip.height) / cellSize);
+        int firstCol = Math.max(0, clip.x / cellSize);
+        int lastCol = Math.min(cols - 1, (clip.x + clip.width) / cellSize);
+
+        for (int row = firstRow; row <= lastRow; row++) {
+            int y = row * cellSize;
+            for (int col = firstCol; col <= lastCol; col++) {
+                int x = col * cellSize;
+                int id = row * cols + col;
+                Color background = backgrounds[id];
+                g.setColor(background != null ? background : DEFAULT_BACKGROUND);
+                g.fillRect(x, y, cellSize, cellSize);
+                g.setColor(GRID_LINE_COLOR);
+                g.drawRect(x, y, cellSize, cellSize);
+                g.drawImage(glyph(letters[id], blocked[id]), x, y, null);
+            }
+        }
+    }
+
+    private BufferedImage glyph(char letter, boolean blocked) {
+        Map<Character, BufferedImage> cache = blocked ? blockedGlyphs : glyphs;
+        BufferedImage image = cache.get(letter);
+        if (image == null) {
+            image = renderGlyph(letter, blocked ? BLOCKED_LETTER_COLOR : LETTER_COLOR);
+            cache.put(letter, image);
+        }
+        return image;
+    }
+
+    private BufferedImage renderGlyph(char letter, Color color) {
+        BufferedImage image = new BufferedImage(cellSize, cellSize, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setFont(new Font("Arial", Font.BOLD, Math.max(8, cellSize * 16 / 50)));
+        g.setColor(color);
+        FontMetrics metrics = g.getFontMetrics();
+        String text = String.valueOf(letter);
+        int x = (cellSize - metrics.stringWidth(text)) / 2;
+        int y = (cellSize - metrics.getHeight()) / 2 + metrics.getAscent();
+        g.drawString(text, x, y);
+        g.dispose();
+        return image;
+    }
+}
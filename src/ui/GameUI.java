@@ -1,23 +1,34 @@
 package ui;
 
+import game.GamePool;
+import game.HintEngine;
 import game.WordLabyrinth;
 import model.*;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.BitSet;
 import java.util.List;
-import java.util.Map;
-
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Swing front end. Game logic, board generation and high score persistence
+ * run on a single game thread; the game thread works out what changed and
+ * posts it to the event dispatch thread, which only touches components.
+ * The game and the per-cell drawing state below are confined to the game
+ * thread once the board is on screen.
+ */
 public class GameUI extends JFrame {
     private WordLabyrinth game;
-    private JPanel gridPanel;
+    private JComponent gridPanel;
     private JLabel scoreLabel;
     private JLabel movesLabel;
     private JLabel wordsLabel;
     private JLabel currentWordLabel;
-    private JButton[][] cellButtons;
+    private GridRenderer gridRenderer;
+    private boolean useCanvasRenderer;
     private JTextArea foundWordsArea;
     private String playerName;
     private HighScoreManager highScoreManager;
@@ -28,15 +39,37 @@ public class GameUI extends JFrame {
         new Color(216, 191, 216)   // Thistle
     };
     private static final Color VALIDATED_WORD_COLOR = new Color(144, 238, 144);  // Light green
+    private static final Color HINT_COLOR = new Color(255, 165, 0);  // Orange
+    private static final int MAX_BUTTON_GRID_SIZE = 15;
+    private static final int MAX_CANVAS_GRID_SIZE = 250;
+    // Generation that takes longer than this shows a progress dialog
+    private static final int PROGRESS_DELAY_MS = 250;
+    private final ExecutorService gameExecutor = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "game-logic");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean gameOver;
+    // Ready-made boards so playing again starts at once
+    private static final int POOLED_GAMES_PER_BOARD = 2;
+    private final GamePool gamePool = new GamePool(POOLED_GAMES_PER_BOARD);
     private Cell lastClickedCell;
+    private Cell hintCell;
     private int currentPathColorIndex = 0;
-    private Map<List<Cell>, Integer> pathColors;  // Maps paths to their color indices
+    // Color index of the last reset path through each cell, -1 if none
+    private int[] historyColors;
+    // Background each button currently shows, and cells that may need a new one
+    private Color[] paintedColors;
+    // Blocked state last sent to the renderer, which keeps its own copy
+    private final BitSet paintedBlocked = new BitSet();
+    private final BitSet dirtyCells = new BitSet();
+    private int shownWordCount;
 
     public GameUI() {
         setTitle("Word Labyrinth");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-        highScoreManager = new HighScoreManager();
-        pathColors = new HashMap<>();
+        // Reads the score log; queued first, so it is ready before any game ends
+        gameExecutor.execute(() -> highScoreManager = new HighScoreManager());
         getPlayerNameAndStart();
     }
 
@@ -49,12 +82,17 @@ public class GameUI extends JFrame {
     }
 
     private void initializeGame() {
-        // Get grid size
+        // Get grid size and renderer
         JTextField rowsField = new JTextField("8");
         JTextField colsField = new JTextField("8");
+        JComboBox<String> rendererBox = new JComboBox<>(new String[] {
+            "Buttons (5-" + MAX_BUTTON_GRID_SIZE + ")",
+            "Canvas (5-" + MAX_CANVAS_GRID_SIZE + ")"
+        });
         Object[] message = {
-            "Number of rows (5-15):", rowsField,
-            "Number of columns (5-15):", colsField
+            "Number of rows:", rowsField,
+            "Number of columns:", colsField,
+            "Grid display:", rendererBox
         };
 
         int option = JOptionPane.showConfirmDialog(this, message, "Grid Size", JOptionPane.OK_CANCEL_OPTION);
@@ -62,13 +100,15 @@ public class GameUI extends JFrame {
             System.exit(0);
         }
 
-        // Validate and get grid size
+        // Validate and get grid size; the canvas handles far larger boards
+        useCanvasRenderer = rendererBox.getSelectedIndex() == 1;
+        int maxSize = useCanvasRenderer ? MAX_CANVAS_GRID_SIZE : MAX_BUTTON_GRID_SIZE;
         int rows, cols;
         try {
             rows = Integer.parseInt(rowsField.getText().trim());
             cols = Integer.parseInt(colsField.getText().trim());
-            rows = Math.max(5, Math.min(15, rows));
-            cols = Math.max(5, Math.min(15, cols));
+            rows = Math.max(5, Math.min(maxSize, rows));
+            cols = Math.max(5, Math.min(maxSize, cols));
         } catch (NumberFormatException e) {
             rows = cols = 8;
         }
@@ -96,13 +136,62 @@ public class GameUI extends JFrame {
                 level = model.Dictionary.DifficultyLevel.EASY;
         }
 
-        game = new WordLabyrinth(level, rows, cols);
+        generateGame(level, rows, cols);
+    }
+
+    /**
+     * Builds the board on the game thread and shows it when ready, with a
+     * progress dialog if generation takes a while.
+     */
+    private void generateGame(model.Dictionary.DifficultyLevel level, int rows, int cols) {
+        JDialog progressDialog = createProgressDialog(rows, cols);
+        Timer progressTimer = new Timer(PROGRESS_DELAY_MS, e -> progressDialog.setVisible(true));
+        progressTimer.setRepeats(false);
+        progressTimer.start();
+
+        gameExecutor.execute(() -> {
+            // Also starts preparing the next board of the same kind
+            WordLabyrinth generated = gamePool.take(level, rows, cols);
+            SwingUtilities.invokeLater(() -> {
+                progressTimer.stop();
+                progressDialog.dispose();
+                startGame(generated);
+            });
+        });
+    }
+
+    /**
+     * Shows a new game in this frame, replacing any previous board.
+     */
+    private void startGame(WordLabyrinth next) {
+        // The game thread is idle between games, so its state can be reset here
+        game = next;
+        lastClickedCell = null;
+        hintCell = null;
+        currentPathColorIndex = 0;
+        dirtyCells.clear();
+        gameOver = false;
+
+        getContentPane().removeAll();
         createUI();
-        pack();
-        setLocationRelativeTo(null);
         setVisible(true);
     }
 
+    private JDialog createProgressDialog(int rows, int cols) {
+        JDialog dialog = new JDialog(this, "Word Labyrinth");
+        JProgressBar progressBar = new JProgressBar();
+        progressBar.setIndeterminate(true);
+        JPanel panel = new JPanel(new BorderLayout(10, 10));
+        panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+        panel.add(new JLabel(String.format("Generating a %dx%d labyrinth...", rows, cols)), BorderLayout.NORTH);
+        panel.add(progressBar, BorderLayout.CENTER);
+        dialog.add(panel);
+        dialog.setDefaultCloseOperation(WindowConstants.DO_NOTHING_ON_CLOSE);
+        dialog.pack();
+        dialog.setLocationRelativeTo(null);
+        return dialog;
+    }
+
     private void createUI() {
         setLayout(new BorderLayout(10, 10));
 
@@ -153,7 +242,7 @@ public class GameUI extends JFrame {
         infoPanel.add(foundWordsTitle);
         infoPanel.add(Box.createVerticalStrut(5));
 
-        foundWordsArea = new JTextArea(10, 15);
+        foundWordsArea = new JTextArea("Found Words:\n", 10, 15);
         foundWordsArea.setEditable(false);
         foundWordsArea.setLineWrap(true);
         foundWordsArea.setWrapStyleWord(true);
@@ -169,14 +258,22 @@ public class GameUI extends JFrame {
         submitButton.addActionListener(e -> handleSubmitWord());
         JButton resetButton = new JButton("Reset Path");
         resetButton.addActionListener(e -> resetPath());
+        JButton hintButton = new JButton("Hint");
+        hintButton.addActionListener(e -> showHint());
         controlPanel.add(submitButton);
         controlPanel.add(resetButton);
+        controlPanel.add(hintButton);
         mainPanel.add(controlPanel, BorderLayout.SOUTH);
 
         // Add the main panel to the frame
         add(mainPanel);
 
-        updateUI();
+        // Cells blocked or unblocked during play need repainting too
+        game.getGrid().addGridChangeListener((grid, cell, blocked) -> markDirty(cell));
+        dirtyCells.set(0, game.getGrid().getCellCount());
+        // The game thread is idle until this returns, so the first paint
+        // can be worked out right here
+        applyUpdate(collectUpdate());
         pack();
         setLocationRelativeTo(null);
     }
@@ -202,6 +299,7 @@ public class GameUI extends JFrame {
         addLegendItem(legendPanel, Color.LIGHT_GRAY, "Used Cell");
         addLegendItem(legendPanel, LAST_CLICKED_COLOR, "Last Clicked Cell");
         addLegendItem(legendPanel, VALIDATED_WORD_COLOR, "Validated Word");
+        addLegendItem(legendPanel, HINT_COLOR, "Hint");
 
         return legendPanel;
     }
@@ -231,205 +329,279 @@ public class GameUI extends JFrame {
         legendPanel.add(itemPanel);
     }
 
-    private JPanel createGridPanel() {
+    private JComponent createGridPanel() {
         Grid grid = game.getGrid();
-        JPanel gridPanel = new JPanel(new GridLayout(grid.getRows(), grid.getCols()));
-        cellButtons = new JButton[grid.getRows()][grid.getCols()];
-
-        for (int i = 0; i < grid.getRows(); i++) {
-            for (int j = 0; j < grid.getCols(); j++) {
-                Cell cell = grid.getCell(i, j);
-                JButton button = new JButton(String.valueOf(cell.getLetter()));
-                button.setPreferredSize(new Dimension(50, 50));
-                button.setFont(new Font("Arial", Font.BOLD, 16));
-
-                if (cell.isBlocked()) {
-                    button.setBackground(Color.BLACK);
-                    button.setEnabled(false);
-                } else if (cell.isSpecial()) {
-                    button.setBackground(Color.YELLOW);
-                } else if (cell == grid.getStartCell()) {
-                    button.setBackground(Color.GREEN);
-                } else if (cell == grid.getDestinationCell()) {
-                    button.setBackground(Color.RED);
-                }
-
-                final int row = i;
-                final int col = j;
-                button.addActionListener(e -> handleCellClick(row, col));
-
-                cellButtons[i][j] = button;
-                gridPanel.add(button);
-            }
+        historyColors = new int[grid.getCellCount()];
+        java.util.Arrays.fill(historyColors, -1);
+        paintedColors = new Color[grid.getCellCount()];
+        paintedBlocked.clear();
+        shownWordCount = 0;
+
+        if (useCanvasRenderer) {
+            gridRenderer = new CanvasGridRenderer(grid, this::handleCellClick);
+        } else {
+            gridRenderer = new ButtonGridRenderer(grid, this::handleCellClick);
         }
-
-        return gridPanel;
+        return gridRenderer.getComponent();
     }
 
-    private void showGameOver() {
+    /**
+     * Records the score and builds the game over message on the game
+     * thread, then asks the player on the EDT.
+     */
+    private void endGame() {
+        gameOver = true;
         String scoreDetails = game.getFinalScoreDetails();
         String message = String.format("Game Over %s!\n\n%s", playerName, scoreDetails);
 
-        // Check if it's a high score
-        if (highScoreManager.isHighScore(game.getFinalScore())) {
-            highScoreManager.addScore(playerName, game.getFinalScore());
+        // Scores are ranked per difficulty and board size
+        Grid grid = game.getGrid();
+        int rank = highScoreManager.addScore(playerName, game.getFinalScore(),
+            game.getLevel(), grid.getRows(), grid.getCols());
+        if (rank > 0 && rank <= HighScoreManager.DISPLAYED_SCORES) {
             message += "\n\nNew High Score!";
+        } else if (rank > 0) {
+            message += "\n\nYour rank: " + rank;
         }
 
-        // Show all high scores
-        message += "\n\nHigh Scores:\n" + highScoreManager.getHighScoresText();
+        // Show the high scores of this board
+        message += "\n\nHigh Scores:\n" + highScoreManager.getHighScoresText(
+            game.getLevel(), grid.getRows(), grid.getCols());
+
+        String gameOverMessage = message;
+        SwingUtilities.invokeLater(() -> showGameOver(gameOverMessage));
+    }
 
-        int option = JOptionPane.showConfirmDialog(this,
+    private void showGameOver(String message) {
+        Object[] options = {"Play Again", "Change Settings", "Quit"};
+        int option = JOptionPane.showOptionDialog(this,
             message + "\n\nWould you like to play again?",
             "Game Over",
-            JOptionPane.YES_NO_OPTION);
+            JOptionPane.DEFAULT_OPTION,
+            JOptionPane.QUESTION_MESSAGE,
+            null,
+            options,
+            options[0]);
 
-        if (option == JOptionPane.YES_OPTION) {
-            dispose();
-            new GameUI();
+        if (option == 0) {
+            // Same board settings: usually served straight from the pool
+            Grid grid = game.getGrid();
+            generateGame(game.getLevel(), grid.getRows(), grid.getCols());
+        } else if (option == 1) {
+            initializeGame();
         } else {
-            System.exit(0);
+            // Flushing the scores waits on the disk, so keep it off the EDT
+            gameExecutor.execute(() -> {
+                highScoreManager.close();
+                gamePool.shutdown();
+                System.exit(0);
+            });
         }
     }
 
     private void handleSubmitWord() {
-        if (game.submitWord()) {
-            updateUI();
-
-            // Check if all words are found
-            if (game.isComplete()) {
-                JOptionPane.showMessageDialog(this,
-                    "Congratulations! You've found all the words in this labyrinth! \n" +
-                    "You earn a 50-point bonus for your achievement!",
-                    "Labyrinth Complete!",
-                    JOptionPane.INFORMATION_MESSAGE);
-                showGameOver();
-            }
-        } else {
-            JOptionPane.showMessageDialog(this,
-                "Invalid word or already found!",
-                "Error",
-                JOptionPane.ERROR_MESSAGE);
-        }
+        if (gameOver) return;
+        gameExecutor.execute(() -> {
+            if (gameOver) return;
+            // Submitted cells leave the current path and turn green
+            markCurrentPathDirty();
+            clearHint();
+            boolean submitted = game.submitWord();
+            UIUpdate update = collectUpdate();
+            boolean complete = submitted && game.isComplete();
+            if (complete) gameOver = true;
+
+            SwingUtilities.invokeLater(() -> {
+                applyUpdate(update);
+                if (!submitted) {
+                    JOptionPane.showMessageDialog(this,
+                        "Invalid word or already found!",
+                        "Error",
+                        JOptionPane.ERROR_MESSAGE);
+                } else if (complete) {
+                    JOptionPane.showMessageDialog(this,
+                        "Congratulations! You've found all the words in this labyrinth! \n" +
+                        "You earn a 50-point bonus for your achievement!",
+                        "Labyrinth Complete!",
+                        JOptionPane.INFORMATION_MESSAGE);
+                    gameExecutor.execute(this::endGame);
+                }
+            });
+        });
     }
 
     private void handleCellClick(int row, int col) {
-        Cell cell = game.getGrid().getCell(row, col);
+        if (gameOver) return;
+        gameExecutor.execute(() -> {
+            if (gameOver) return;
+            Cell cell = game.getGrid().getCell(row, col);
+
+            // If it's the destination cell, end the game immediately
+            if (cell == game.getGrid().getDestinationCell()) {
+                endGame();
+                return;
+            }
 
-        // If it's the destination cell, end the game immediately
-        if (cell == game.getGrid().getDestinationCell()) {
-            showGameOver();
-            return;
-        }
+            if (game.move(cell)) {
+                clearHint();
+                if (lastClickedCell != null) markDirty(lastClickedCell);
+                markDirty(cell);
+                lastClickedCell = cell;
+                UIUpdate update = collectUpdate();
+                SwingUtilities.invokeLater(() -> applyUpdate(update));
+
+                if (game.hasWon() || game.hasLost()) {
+                    endGame();
+                }
+            }
+        });
+    }
 
-        if (game.move(cell)) {
-            lastClickedCell = cell;
-            updateUI();
+    private void resetPath() {
+        if (gameOver) return;
+        gameExecutor.execute(() -> {
+            clearHint();
+            // Save the current path's color before resetting
+            if (game.getCurrentPathLength() > 0) {
+                Grid grid = game.getGrid();
+                for (int i = 0; i < game.getCurrentPathLength(); i++) {
+                    historyColors[grid.getCellId(game.getCurrentPathCell(i))] = currentPathColorIndex;
+                }
+                markCurrentPathDirty();
+                game.resetPath();
+            }
+            // Cycle to next path color
+            currentPathColorIndex = (currentPathColorIndex + 1) % PATH_COLORS.length;
+            UIUpdate update = collectUpdate();
+            SwingUtilities.invokeLater(() -> applyUpdate(update));
+        });
+    }
 
-            if (game.hasWon() || game.hasLost()) {
-                showGameOver();
+    private void showHint() {
+        if (gameOver) return;
+        gameExecutor.execute(() -> {
+            if (gameOver) return;
+            HintEngine.Hint hint = game.getHint();
+            clearHint();
+            if (hint.getCell() != null) {
+                hintCell = hint.getCell();
+                markDirty(hintCell);
             }
+            UIUpdate update = collectUpdate();
+            SwingUtilities.invokeLater(() -> {
+                applyUpdate(update);
+                if (hint.getType() == HintEngine.Hint.Type.SUBMIT) {
+                    JOptionPane.showMessageDialog(this, "Your current word is ready to submit!",
+                        "Hint", JOptionPane.INFORMATION_MESSAGE);
+                } else if (hint.getType() == HintEngine.Hint.Type.NONE) {
+                    JOptionPane.showMessageDialog(this, "No hint available. Try resetting your path.",
+                        "Hint", JOptionPane.INFORMATION_MESSAGE);
+                }
+            });
+        });
+    }
+
+    private void clearHint() {
+        if (hintCell != null) {
+            markDirty(hintCell);
+            hintCell = null;
         }
     }
 
-    private void resetPath() {
-        // Save the current path's color before resetting
-        if (!game.getCurrentPath().isEmpty()) {
-            pathColors.put(new ArrayList<>(game.getCurrentPath()), currentPathColorIndex);
-            game.resetPath();
+    private void markDirty(Cell cell) {
+        dirtyCells.set(game.getGrid().getCellId(cell));
+    }
+
+    private void markCurrentPathDirty() {
+        for (int i = 0; i < game.getCurrentPathLength(); i++) {
+            markDirty(game.getCurrentPathCell(i));
         }
-        // Cycle to next path color
-        currentPathColorIndex = (currentPathColorIndex + 1) % PATH_COLORS.length;
-        currentWordLabel.setText("Current Word: ");
-        updateUI();
     }
 
-    private void updateUI() {
-        // Update labels
-        updateScoreLabel();
-        movesLabel.setText("Moves left: " + game.getMovesLeft());
-        wordsLabel.setText("Words found: " + game.getFoundWords().size() + 
-                          "/" + game.getRequiredWords());
+    /**
+     * What the EDT has to change after one game action: label texts, newly
+     * found words and the cells whose color changed, with their blocked
+     * state read on the game thread.
+     */
+    private static final class UIUpdate {
+        String scoreText;
+        String movesText;
+        String wordsText;
+        String currentWordText;
+        final List<String> newWords = new ArrayList<>();
+        final List<Cell> cells = new ArrayList<>();
+        final List<Color> colors = new ArrayList<>();
+        final List<Boolean> blocked = new ArrayList<>();
+    }
+
+    /**
+     * Reads the game state on the game thread: the labels, the words found
+     * since the last update and the new colors of the cells marked dirty.
+     */
+    private UIUpdate collectUpdate() {
+        UIUpdate update = new UIUpdate();
+        update.scoreText = String.format("Score: %d | Words Found: %d/%d | Moves Left: %d",
+            game.getCurrentScore(), game.getFoundWordCount(), game.getRequiredWords(), game.getMovesLeft());
+        update.movesText = "Moves left: " + game.getMovesLeft();
+        update.wordsText = "Words found: " + game.getFoundWordCount() + "/" + game.getRequiredWords();
 
-        // Update current word
         StringBuilder currentWord = new StringBuilder("Current Word: ");
-        for (Cell cell : game.getCurrentPath()) {
-            currentWord.append(cell.getLetter());
+        for (int i = 0; i < game.getCurrentPathLength(); i++) {
+            currentWord.append(game.getCurrentPathCell(i).getLetter());
         }
-        currentWordLabel.setText(currentWord.toString());
+        update.currentWordText = currentWord.toString();
 
-        // Update found words area
-        StringBuilder sb = new StringBuilder("Found Words:\n");
-        for (String word : game.getFoundWords()) {
-            sb.append(word).append("\n");
+        for (; shownWordCount < game.getFoundWordCount(); shownWordCount++) {
+            update.newWords.add(game.getFoundWord(shownWordCount));
         }
-        foundWordsArea.setText(sb.toString());
 
-        // Update grid
         Grid grid = game.getGrid();
-        java.util.List<Cell> currentPath = game.getCurrentPath();
-
-        // First, reset all cell colors
-        for (int i = 0; i < grid.getRows(); i++) {
-            for (int j = 0; j < grid.getCols(); j++) {
-                Cell cell = grid.getCell(i, j);
-                JButton button = cellButtons[i][j];
-
-                // Reset background for non-special cells
-                if (!cell.isBlocked() && !cell.isSpecial() && 
-                    cell != grid.getStartCell() && cell != grid.getDestinationCell()) {
-                    button.setBackground(null);
-                    button.setEnabled(true);
-                }
-            }
-        }
-
-        // Color previous paths
-        for (List<Cell> path : game.getPreviousPaths()) {
-            int colorIndex = pathColors.getOrDefault(path, currentPathColorIndex);
-            for (Cell cell : path) {
-                JButton button = cellButtons[cell.getRow()][cell.getCol()];
-                if (cell.isUsed()) {
-                    // If the cell is part of a validated word, use green
-                    button.setBackground(VALIDATED_WORD_COLOR);
-                } else {
-                    // Otherwise, use the path's color
-                    button.setBackground(PATH_COLORS[colorIndex]);
-                }
+        for (int id = dirtyCells.nextSetBit(0); id >= 0; id = dirtyCells.nextSetBit(id + 1)) {
+            Cell cell = grid.getCellById(id);
+            Color color = cellColor(cell);
+            boolean blocked = cell.isBlocked();
+            if (color != paintedColors[id] || paintedColors[id] == null || blocked != paintedBlocked.get(id)) {
+                update.cells.add(cell);
+                update.colors.add(color);
+                update.blocked.add(blocked);
+                paintedColors[id] = color;
+                paintedBlocked.set(id, blocked);
             }
         }
+        dirtyCells.clear();
+        return update;
+    }
 
-        // Color current path
-        for (Cell cell : currentPath) {
-            JButton button = cellButtons[cell.getRow()][cell.getCol()];
-            button.setBackground(PATH_COLORS[currentPathColorIndex]);
+    /**
+     * Applies an update on the EDT, touching only what changed.
+     */
+    private void applyUpdate(UIUpdate update) {
+        scoreLabel.setText(update.scoreText);
+        movesLabel.setText(update.movesText);
+        wordsLabel.setText(update.wordsText);
+        currentWordLabel.setText(update.currentWordText);
+        for (String word : update.newWords) {
+            foundWordsArea.append(word + "\n");
         }
-
-        // Color special cells and last clicked cell
-        for (int i = 0; i < grid.getRows(); i++) {
-            for (int j = 0; j < grid.getCols(); j++) {
-                Cell cell = grid.getCell(i, j);
-                JButton button = cellButtons[i][j];
-
-                if (cell == lastClickedCell) {
-                    button.setBackground(LAST_CLICKED_COLOR);
-                } else if (cell == grid.getStartCell()) {
-                    button.setBackground(Color.GREEN);
-                } else if (cell == grid.getDestinationCell()) {
-                    button.setBackground(Color.RED);
-                } else if (cell.isBlocked()) {
-                    button.setBackground(Color.BLACK);
-                    button.setEnabled(false);
-                } else if (cell.isSpecial()) {
-                    button.setBackground(Color.YELLOW);
-                }
-            }
+        for (int i = 0; i < update.cells.size(); i++) {
+            gridRenderer.paintCell(update.cells.get(i), update.colors.get(i), update.blocked.get(i));
         }
     }
 
-    private void updateScoreLabel() {
-        scoreLabel.setText(String.format("Score: %d | Words Found: %d/%d | Moves Left: %d",
-            game.getCurrentScore(), game.getFoundWords().size(), game.getRequiredWords(), game.getMovesLeft()));
+    // Same priority as the legend: markers first, then the current path,
+    // then validated words and earlier paths
+    private Color cellColor(Cell cell) {
+        Grid grid = game.getGrid();
+        if (cell == lastClickedCell) return LAST_CLICKED_COLOR;
+        if (cell == hintCell) return HINT_COLOR;
+        if (cell == grid.getStartCell()) return Color.GREEN;
+        if (cell == grid.getDestinationCell()) return Color.RED;
+        if (cell.isBlocked()) return Color.BLACK;
+        if (cell.isSpecial()) return Color.YELLOW;
+        if (game.isOnCurrentPath(cell)) return PATH_COLORS[currentPathColorIndex];
+        if (cell.isUsed()) return VALIDATED_WORD_COLOR;
+        int history = historyColors[grid.getCellId(cell)];
+        return history >= 0 ? PATH_COLORS[history] : null;
     }
 
     public static void main(String[] args) {
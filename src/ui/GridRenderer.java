@@ -0,0 +1,29 @@
+package ui;
+
+import model.Cell;
+import javax.swing.JComponent;
+import java.awt.Color;
+
+/**
+ * Draws the letter grid of a game and reports clicks on its cells.
+ * GameUI decides each cell's color and only passes cells whose color
+ * changed. Renderers are built while the game thread is idle; after that
+ * they must not read mutable cell state, since the game thread owns it.
+ */
+public interface GridRenderer {
+    interface CellClickListener {
+        void cellClicked(int row, int col);
+    }
+
+    /**
+     * Returns the component to place in the window.
+     */
+    JComponent getComponent();
+
+    /**
+     * Sets a cell's background; null means the default background.
+     * Blocked cells should not report clicks. Only the cell's position may
+     * be read; blocked is its state when the update was collected.
+     */
+    void paintCell(Cell cell, Color background, boolean blocked);
+}